@@ -0,0 +1,24 @@
+package com.saucedemo.benchmarks;
+
+/**
+ * Points the framework at the in-process HtmlUnit driver and the bundled SauceDemo stand-in,
+ * so benchmarks measure framework overhead without a browser binary, grid or network in the way.
+ * Must run before any framework class reads its configuration.
+ */
+final class BenchmarkEnvironment {
+
+    private BenchmarkEnvironment() {
+    }
+
+    static void configure() {
+        setDefault("browser", "htmlunit");
+        setDefault("app.target", "local");
+        setDefault("driver.prewarm", "false");
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.utils.ConfigReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConfigReader is created in static initializers all over the framework and queried on hot paths
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigReaderBenchmark {
+    private ConfigReader configReader;
+
+    @Setup
+    public void setUp() {
+        configReader = new ConfigReader();
+    }
+
+    @Benchmark
+    public ConfigReader construct() {
+        return new ConfigReader();
+    }
+
+    @Benchmark
+    public String lookupExistingKey() {
+        return configReader.getProperty("explicit.wait");
+    }
+
+    @Benchmark
+    public String lookupMissingKeyWithDefault() {
+        return configReader.getProperty("benchmark.missing.key", "default");
+    }
+}
@@ -0,0 +1,111 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.listeners.TestSuiteListener;
+import org.openjdk.jmh.annotations.*;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestSuiteListener result callbacks from many threads at once, as in parallel scenario mode.
+ * Each invocation records a fixed batch per thread into fresh metrics, so memory stays bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ListenerContentionBenchmark.BATCH)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ListenerContentionBenchmark {
+    static final int BATCH = 10_000;
+    private static final int SCENARIOS = 100;
+
+    private final TestSuiteListener listener = new TestSuiteListener();
+    private final ITestResult[] results = new ITestResult[SCENARIOS];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < SCENARIOS; i++) {
+            results[i] = fakeResult("scenario" + i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetMetrics() {
+        TestSuiteListener.resetMetrics();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordResultsSingleThread() {
+        recordBatch();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordResultsEightThreads() {
+        recordBatch();
+    }
+
+    private void recordBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            ITestResult result = results[i % SCENARIOS];
+            if (i % 10 == 0) {
+                listener.onTestFailure(result);
+            } else {
+                listener.onTestSuccess(result);
+            }
+        }
+    }
+
+    // Only the accessors the listener reads are answered, everything else returns the type's default
+    private static ITestResult fakeResult(String name) {
+        ITestNGMethod method = (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+                new Class<?>[]{ITestNGMethod.class}, (proxy, invoked, args) -> switch (invoked.getName()) {
+                    case "getQualifiedName" -> "com.saucedemo.benchmarks." + name;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> defaultValue(invoked.getReturnType());
+                });
+        long startMillis = System.currentTimeMillis();
+        return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(),
+                new Class<?>[]{ITestResult.class}, (proxy, invoked, args) -> switch (invoked.getName()) {
+                    case "getMethod" -> method;
+                    case "getName" -> name;
+                    case "getParameters" -> new Object[0];
+                    case "getStartMillis" -> startMillis;
+                    case "getEndMillis" -> startMillis + 1_000;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> defaultValue(invoked.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        return type == byte.class ? (byte) 0 : (short) 0;
+    }
+}
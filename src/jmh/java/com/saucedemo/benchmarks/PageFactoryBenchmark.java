@@ -0,0 +1,46 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.pages.LoginPage;
+import com.saucedemo.pages.ProductsPage;
+import com.saucedemo.utils.LocalAppServer;
+import com.saucedemo.utils.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating page objects, i.e. PageFactory.initElements with the caching field decorator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageFactoryBenchmark {
+    private WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.configure();
+        driver = WebDriverManager.getDriverAndNavigate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        WebDriverManager.releaseDriver();
+        WebDriverManager.shutdownDriverPool();
+        LocalAppServer.stop();
+    }
+
+    @Benchmark
+    public LoginPage initLoginPage() {
+        return new LoginPage(driver);
+    }
+
+    @Benchmark
+    public ProductsPage initProductsPage() {
+        return new ProductsPage(driver);
+    }
+}
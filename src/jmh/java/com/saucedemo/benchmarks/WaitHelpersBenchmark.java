@@ -0,0 +1,90 @@
+package com.saucedemo.benchmarks;
+
+import com.saucedemo.pages.BasePage;
+import com.saucedemo.utils.LocalAppServer;
+import com.saucedemo.utils.WebDriverManager;
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BasePage wait helpers on the login page: elements that are already there, and the fast-fail absence check
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaitHelpersBenchmark {
+
+    // Exposes the protected helpers of BasePage on the login page's elements
+    public static class ProbePage extends BasePage {
+        @FindBy(className = "login_logo")
+        private WebElement loginLogo;
+
+        @FindBy(id = "login-button")
+        private WebElement loginButton;
+
+        @FindBy(id = "not-on-this-page")
+        private WebElement missingElement;
+
+        public ProbePage(WebDriver driver) {
+            super(driver);
+        }
+
+        boolean waitForLogo() {
+            return waitForElementDisplayed(loginLogo);
+        }
+
+        void waitForLoginButtonClickable() {
+            waitForElementClickable(loginButton);
+        }
+
+        boolean checkLogo() {
+            return isElementDisplayed(loginLogo);
+        }
+
+        boolean checkMissingElement() {
+            return isElementDisplayed(missingElement);
+        }
+    }
+
+    private ProbePage page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkEnvironment.configure();
+        page = new ProbePage(WebDriverManager.getDriverAndNavigate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        WebDriverManager.releaseDriver();
+        WebDriverManager.shutdownDriverPool();
+        LocalAppServer.stop();
+    }
+
+    @Benchmark
+    public boolean waitForDisplayedElement() {
+        return page.waitForLogo();
+    }
+
+    @Benchmark
+    public void waitForClickableElement() {
+        page.waitForLoginButtonClickable();
+    }
+
+    @Benchmark
+    public boolean checkDisplayedElement() {
+        return page.checkLogo();
+    }
+
+    @Benchmark
+    public boolean checkMissingElement() {
+        return page.checkMissingElement();
+    }
+}
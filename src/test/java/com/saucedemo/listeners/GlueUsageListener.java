@@ -0,0 +1,51 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.runners.ImpactIndex;
+import com.saucedemo.runners.ShardSelector;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStep;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cucumber plugin used by the {@link ImpactIndex} dry run to record which glue classes
+ * (step definitions and hooks) every scenario runs through
+ */
+public class GlueUsageListener implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        ImpactIndex index = ImpactIndex.current();
+        if (index == null) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        Set<String> glueClasses = new HashSet<>();
+        for (TestStep step : testCase.getTestSteps()) {
+            String className = declaringClass(step.getCodeLocation());
+            if (className != null) {
+                glueClasses.add(className);
+            }
+        }
+        index.recordScenario(ShardSelector.scenarioKey(testCase.getUri(), testCase.getLocation().getLine()), glueClasses);
+    }
+
+    // Code locations look like com.saucedemo.stepdefinitions.LoginSteps.iAmOnTheLoginPage(), null for undefined steps
+    private static String declaringClass(String codeLocation) {
+        if (codeLocation == null) {
+            return null;
+        }
+        int arguments = codeLocation.indexOf('(');
+        String method = arguments < 0 ? codeLocation : codeLocation.substring(0, arguments);
+        int separator = method.lastIndexOf('.');
+        return separator < 0 ? null : method.substring(0, separator);
+    }
+}
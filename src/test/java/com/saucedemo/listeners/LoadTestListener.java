@@ -0,0 +1,39 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.runners.LoadTestMetrics;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber plugin used by {@link com.saucedemo.runners.LoadTestRunner} to feed step latencies
+ * and finished iterations into the running {@link LoadTestMetrics}
+ */
+public class LoadTestListener implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        LoadTestMetrics metrics = LoadTestMetrics.current();
+        if (metrics != null && event.getTestStep() instanceof PickleStepTestStep step
+                && event.getResult().getStatus() == Status.PASSED) {
+            metrics.recordStep(step.getStep().getKeyword() + step.getStep().getText(),
+                    event.getResult().getDuration().toNanos() / 1_000);
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        LoadTestMetrics metrics = LoadTestMetrics.current();
+        if (metrics != null) {
+            metrics.recordIteration(event.getResult().getStatus() == Status.PASSED,
+                    event.getResult().getDuration().toNanos() / 1_000);
+        }
+    }
+}
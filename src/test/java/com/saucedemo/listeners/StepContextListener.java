@@ -0,0 +1,27 @@
+package com.saucedemo.listeners;
+
+import com.saucedemo.utils.LatencyRecorder;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that tells {@link LatencyRecorder} which Gherkin step is running.
+ * Step events are published on the thread executing the scenario, so the context is thread-local.
+ */
+public class StepContextListener implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, event -> LatencyRecorder.clearCurrentStep());
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            LatencyRecorder.setCurrentStep(step.getStep().getKeyword() + step.getStep().getText());
+        }
+    }
+}
@@ -1,90 +1,149 @@
 package com.saucedemo.listeners;
 
+import com.saucedemo.pages.LocatorStatistics;
+import com.saucedemo.runners.DurationHistory;
+import com.saucedemo.runners.ShardSelector;
+import com.saucedemo.utils.AllureReportGenerator;
 import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.LocalAppServer;
+import com.saucedemo.utils.ScreenshotPipeline;
 import com.saucedemo.utils.SlackNotifier;
+import com.saucedemo.utils.SuiteMetrics;
+import com.saucedemo.utils.WaitEngine;
+import com.saucedemo.utils.WebDriverManager;
+import io.cucumber.testng.PickleWrapper;
 import org.testng.ISuite;
 import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class TestSuiteListener implements ISuiteListener, ITestListener {
     private static final ConfigReader configReader = new ConfigReader();
 
-    private static int totalTests = 0;
-    private static int passedTests = 0;
-    private static int failedTests = 0;
-    private static int skippedTests = 0;
+    // Attributes set on a test result when the scenario ran on another thread than the TestNG method
+    public static final String SCENARIO_START_ATTRIBUTE = "scenario.startMillis";
+    public static final String SCENARIO_END_ATTRIBUTE = "scenario.endMillis";
+    // Set by CucumberTest on the rerun of a failed scenario
+    public static final String RERUN_ATTRIBUTE = "scenario.rerun";
+    private static final int SLOWEST_SCENARIOS = 5;
+
+    private static volatile SuiteMetrics metrics = new SuiteMetrics();
     private static long suiteStartTime;
 
     private static final String ALLURE_REPORT_PORT = configReader.getProperty("allure.report.port");
+    // Set per shard by build.gradle so sharded runs keep their results apart
+    private static final String ALLURE_RESULTS_DIR = System.getProperty("allure.results.directory", "build/allure-results");
+    private static final String ALLURE_REPORT_DIR = "build/allure-report";
+
+    private static CompletableFuture<Boolean> reportGeneration = CompletableFuture.completedFuture(false);
+
+    // Start over with empty metrics, for repeated runs in one JVM such as benchmarks
+    public static void resetMetrics() {
+        metrics = new SuiteMetrics();
+    }
 
     @Override
     public void onStart(ISuite suite) {
         suiteStartTime = System.currentTimeMillis();
+        metrics.start();
         System.out.println("Test Suite Execution started");
+
+        if (LocalAppServer.isEnabled()) {
+            LocalAppServer.start();
+        }
+        WebDriverManager.prewarmDrivers();
     }
 
     @Override
     public void onFinish(ISuite suite) {
+        WebDriverManager.shutdownDriverPool();
+        // Screenshots must be on disk before the Allure report is generated
+        ScreenshotPipeline.drain(Duration.ofSeconds(30));
+
         long duration = System.currentTimeMillis() - suiteStartTime;
         String durationStr = String.format("%d min, %d sec",
                 (duration / 1000) / 60, (duration / 1000) % 60);
 
+        SuiteMetrics.Summary summary = metrics.summarize(SLOWEST_SCENARIOS);
+        new DurationHistory(configReader.getProperty("scenario.history.file", ".cache/scenario-durations.properties"))
+                .update(metrics.getRecords());
+
         System.out.println("\n=== Test Execution Summary ===");
-        System.out.println("Total Tests: " + totalTests);
-        System.out.println("Passed: " + passedTests);
-        System.out.println("Failed: " + failedTests);
-        System.out.println("Skipped: " + skippedTests);
+        System.out.println("Total Tests: " + summary.total());
+        System.out.println("Passed: " + summary.passed());
+        System.out.println("Failed: " + summary.failed());
+        System.out.println("Skipped: " + summary.skipped());
+        System.out.println("Flaky (passed on rerun): " + summary.flaky());
         System.out.println("Duration: " + durationStr);
+        System.out.printf("Throughput: %.1f scenarios/min%n", summary.throughputPerMinute());
+        System.out.println("Scenario duration p50/p90/p99: " + summary.p50Millis() + " / "
+                + summary.p90Millis() + " / " + summary.p99Millis() + " ms");
+        if (!summary.slowest().isEmpty()) {
+            System.out.println("Slowest scenarios:");
+            for (SuiteMetrics.ScenarioRecord record : summary.slowest()) {
+                System.out.println("  " + record.durationMillis() + " ms - " + record.name() + " (" + record.key() + ")");
+            }
+        }
+        WaitEngine.printStatistics();
+        LocatorStatistics.printStatistics();
 
-        // Generate static Allure report first
-        generateAllureReport();
+        // Generate static Allure report in the background, the suite does not wait for it
+        reportGeneration = new AllureReportGenerator(ALLURE_RESULTS_DIR, ALLURE_REPORT_DIR).generateAsync();
 
-        // Generate Allure Report and send Slack notification
+        // Generate Allure Report and send Slack notification, delivered in the background
         String allureReportUrl = generateAllureReportUrl();
-        SlackNotifier.sendTestResults(
-                totalTests, passedTests, failedTests, skippedTests, durationStr, allureReportUrl
-        );
+        SlackNotifier.sendTestResults(summary, durationStr, allureReportUrl);
+
+        // CI and Docker publish or copy the report as soon as the run ends, so only there we wait for it
+        if (!"LOCAL".equals(detectCiEnvironment())) {
+            AllureReportGenerator.awaitCompletion(reportGeneration,
+                    Long.parseLong(configReader.getProperty("allure.report.wait.timeout", "300")));
+        }
+        SlackNotifier.flush(Duration.ofSeconds(Long.parseLong(configReader.getProperty("slack.flush.timeout.seconds", "10"))));
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        totalTests++;
-        passedTests++;
+        recordScenario(result, SuiteMetrics.Status.PASSED);
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        totalTests++;
-        failedTests++;
+        recordScenario(result, SuiteMetrics.Status.FAILED);
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        totalTests++;
-        skippedTests++;
+        recordScenario(result, SuiteMetrics.Status.SKIPPED);
     }
 
-    private static void generateAllureReport() {
-        try {
-            System.out.println("Generating Allure report...");
-            // Generate static Allure report from results
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    "allure", "generate", "build/allure-results", "--clean", "-o", "build/allure-report"
-            );
-            processBuilder.inheritIO();
-            Process process = processBuilder.start();
-            int exitCode = process.waitFor();
-            if (exitCode == 0) {
-                System.out.println("Allure report generated successfully at: build/allure-report");
-            } else {
-                System.err.println("Failed to generate Allure report (exit code: " + exitCode + ")");
-            }
-        } catch (IOException | InterruptedException e) {
-            System.err.println("Failed to generate Allure report: " + e.getMessage());
+    private static void recordScenario(ITestResult result, SuiteMetrics.Status status) {
+        String key = result.getMethod().getQualifiedName();
+        String name = result.getName();
+        List<String> tags = List.of();
+
+        Object[] parameters = result.getParameters();
+        if (parameters.length > 0 && parameters[0] instanceof PickleWrapper pickleWrapper) {
+            key = ShardSelector.scenarioKey(pickleWrapper.getPickle());
+            name = pickleWrapper.getPickle().getName();
+            tags = pickleWrapper.getPickle().getTags();
+        }
+
+        long startMillis = result.getAttribute(SCENARIO_START_ATTRIBUTE) instanceof Long start ? start : result.getStartMillis();
+        long endMillis = result.getAttribute(SCENARIO_END_ATTRIBUTE) instanceof Long end ? end : result.getEndMillis();
+        if (Boolean.TRUE.equals(result.getAttribute(RERUN_ATTRIBUTE))) {
+            metrics.recordRerun(key, name, tags, status, startMillis, endMillis);
+        } else {
+            metrics.recordScenario(key, name, tags, status, startMillis, endMillis);
         }
+        SlackNotifier.scenarioFinished(metrics, name, status == SuiteMetrics.Status.FAILED);
     }
 
     private static String generateAllureReportUrl() {
@@ -157,7 +216,7 @@ public class TestSuiteListener implements ISuiteListener, ITestListener {
         System.out.println("\n=== Allure Report Options ===");
         System.out.println("1. Static Report: file://" + reportPath);
         System.out.println("2. Live Server: http://localhost:" + ALLURE_REPORT_PORT);
-        System.out.println("3. Manual command: allure serve build/allure-results");
+        System.out.println("3. Manual command: allure serve " + ALLURE_RESULTS_DIR);
         System.out.println("4. Manual open: allure open build/allure-report --port " + ALLURE_REPORT_PORT);
 
         // Try to start local server in background (optional)
@@ -172,37 +231,48 @@ public class TestSuiteListener implements ISuiteListener, ITestListener {
     }
 
     private static void startLocalAllureServer() {
-        try {
-            System.out.println("Starting Allure server on port " + ALLURE_REPORT_PORT + "...");
-
-            // Start Allure serve in background thread for local development
-            Thread serverThread = new Thread(() -> {
-                try {
-                    ProcessBuilder pb = new ProcessBuilder(
-                            "allure", "open", "build/allure-report", "--port", String.valueOf(ALLURE_REPORT_PORT)
-                    );
-                    pb.inheritIO();
-                    Process process = pb.start();
-
-                    // Add shutdown hook to stop the server
-                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                        process.destroyForcibly();
-                    }));
-
-                    process.waitFor();
-                } catch (IOException | InterruptedException e) {
-                    System.err.println("Failed to start Allure server: " + e.getMessage());
+        System.out.println("Starting Allure server on port " + ALLURE_REPORT_PORT + " once the report is ready...");
+
+        // Serve the report in the background as soon as generation finishes, without blocking the suite
+        Thread serverThread = new Thread(() -> {
+            try {
+                reportGeneration.join();
+                ProcessBuilder pb = new ProcessBuilder(
+                        "allure", "open", ALLURE_REPORT_DIR, "--port", String.valueOf(ALLURE_REPORT_PORT)
+                );
+                pb.inheritIO();
+                Process process = pb.start();
+
+                // Add shutdown hook to stop the server
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    process.destroyForcibly();
+                }));
+
+                if (waitForPort(Integer.parseInt(ALLURE_REPORT_PORT), Duration.ofSeconds(30))) {
+                    System.out.println("Allure server available at: http://localhost:" + ALLURE_REPORT_PORT);
+                } else {
+                    System.err.println("Allure server did not start listening on port " + ALLURE_REPORT_PORT);
                 }
-            });
-            serverThread.setDaemon(true);
-            serverThread.start();
-
-            // Give server time to start
-            Thread.sleep(3000);
-            System.out.println("Allure server should be available at: http://localhost:" + ALLURE_REPORT_PORT);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("Interrupted while starting Allure server");
+                process.waitFor();
+            } catch (IOException | InterruptedException e) {
+                System.err.println("Failed to start Allure server: " + e.getMessage());
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    // Poll until the server accepts connections instead of sleeping for a fixed time
+    private static boolean waitForPort(int port, Duration timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", port), 200);
+                return true;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
         }
+        return false;
     }
 }
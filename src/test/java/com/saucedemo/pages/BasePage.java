@@ -1,38 +1,57 @@
 package com.saucedemo.pages;
 
-import org.openqa.selenium.NoSuchElementException;
+import com.saucedemo.utils.WaitEngine;
+import com.saucedemo.utils.WebDriverManager;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-
-import java.time.Duration;
+import org.testng.SkipException;
 
 public class BasePage {
     protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected WaitEngine wait;
 
+    // PageFactory has to populate the fields of the page under construction
+    @SuppressWarnings("this-escape")
     public BasePage(WebDriver driver) {
+        RequiresRealBrowser requiresRealBrowser = getClass().getAnnotation(RequiresRealBrowser.class);
+        if (requiresRealBrowser != null && !WebDriverManager.isRealBrowser()) {
+            throw new SkipException(getClass().getSimpleName() + " requires a real browser"
+                    + (requiresRealBrowser.value().isEmpty() ? "" : ": " + requiresRealBrowser.value()));
+        }
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        PageFactory.initElements(driver, this);
+        this.wait = new WaitEngine(driver);
+        // Elements are looked up once per page state instead of on every access
+        PageFactory.initElements(new CachingFieldDecorator(driver, getLocatorStatistics()), this);
+    }
+
+    public LocatorStatistics getLocatorStatistics() {
+        return LocatorStatistics.forPage(getClass());
     }
 
+    // Fails fast when the element is missing instead of waiting for the full timeout
     protected boolean isElementDisplayed(WebElement element) {
+        return wait.check(d -> element.isDisplayed(), waitName("displayed check"));
+    }
+
+    // For elements that are expected to appear, e.g. right after a page transition
+    protected boolean waitForElementDisplayed(WebElement element) {
         try {
-            return element.isDisplayed();
-        } catch (NoSuchElementException e) {
+            waitForElementVisible(element);
+            return true;
+        } catch (TimeoutException e) {
             return false;
         }
     }
 
     protected void waitForElementVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        wait.until(ExpectedConditions.visibilityOf(element), waitName("visibility"));
     }
 
     protected void waitForElementClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        wait.until(ExpectedConditions.elementToBeClickable(element), waitName("clickable"));
     }
 
     protected String getText(WebElement element) {
@@ -50,4 +69,9 @@ public class BasePage {
         waitForElementClickable(element);
         element.click();
     }
+
+    // Wait statistics are grouped per page and kind of wait
+    private String waitName(String kind) {
+        return getClass().getSimpleName() + " " + kind;
+    }
 }
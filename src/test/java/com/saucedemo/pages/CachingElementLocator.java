@@ -0,0 +1,60 @@
+package com.saucedemo.pages;
+
+import com.saucedemo.utils.WebDriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+
+/**
+ * Resolves a page object field once and reuses the WebElement until the page state changes.
+ * The cache is dropped when WebDriverManager reports a navigation, or when the element goes stale.
+ * Lists are always looked up fresh because their elements cannot be re-resolved individually.
+ */
+class CachingElementLocator implements ElementLocator {
+    private final SearchContext searchContext;
+    private final By by;
+    private final LocatorStatistics statistics;
+
+    private WebElement cachedElement;
+    private long cachedNavigation;
+
+    CachingElementLocator(SearchContext searchContext, By by, LocatorStatistics statistics) {
+        this.searchContext = searchContext;
+        this.by = by;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public WebElement findElement() {
+        long navigation = WebDriverManager.getNavigationCount();
+        if (cachedElement != null && cachedNavigation == navigation) {
+            statistics.recordHit();
+            return cachedElement;
+        }
+
+        statistics.recordMiss();
+        cachedElement = searchContext.findElement(by);
+        cachedNavigation = navigation;
+        return cachedElement;
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        statistics.recordMiss();
+        return searchContext.findElements(by);
+    }
+
+    // Called when the cached element turned out to be stale
+    void invalidate() {
+        statistics.recordStale();
+        cachedElement = null;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingElementLocator '" + by + "'";
+    }
+}
@@ -0,0 +1,67 @@
+package com.saucedemo.pages;
+
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * PageFactory decorator that backs @FindBy fields with {@link CachingElementLocator}
+ * and retries a call once with a freshly resolved element when the cached one is stale.
+ */
+class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    CachingFieldDecorator(SearchContext searchContext, LocatorStatistics statistics) {
+        super(field -> new CachingElementLocator(searchContext, new Annotations(field).buildBy(), statistics));
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        InvocationHandler handler = new StaleAwareElementHandler((CachingElementLocator) locator);
+        return (WebElement) Proxy.newProxyInstance(
+                loader, new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class}, handler);
+    }
+
+    private static class StaleAwareElementHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        StaleAwareElementHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getWrappedElement".equals(method.getName())) {
+                return locator.findElement();
+            }
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator;
+            }
+
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+
+            // The page re-rendered or navigated since the element was cached, resolve it again
+            locator.invalidate();
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.saucedemo.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Declares several DOM reads (text, visibility, attributes, lists) and fetches them
+ * with a single executeScript call instead of one remote command per getter.
+ * Declare a snapshot once per page object and map the result to a record with {@link #fetch(WebDriver, Function)}.
+ */
+public class DomSnapshot {
+    // The field list is passed as a script argument so the script itself never changes
+    public static final String SCRIPT =
+            "var fields = arguments[0], result = {};" +
+            "function isVisible(el) {" +
+            "  if (!el) { return false; }" +
+            "  var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();" +
+            "  return style.display !== 'none' && style.visibility !== 'hidden' && rect.width > 0 && rect.height > 0;" +
+            "}" +
+            "function textOf(el) { return el ? (el.innerText || el.textContent || '').trim() : null; }" +
+            "for (var i = 0; i < fields.length; i++) {" +
+            "  var f = fields[i], el;" +
+            "  if (f.kind === 'text') { el = document.querySelector(f.selector); result[f.name] = isVisible(el) ? textOf(el) : null; }" +
+            "  else if (f.kind === 'visible') { result[f.name] = isVisible(document.querySelector(f.selector)); }" +
+            "  else if (f.kind === 'attribute') { el = document.querySelector(f.selector); result[f.name] = el ? el.getAttribute(f.attribute) : null; }" +
+            "  else if (f.kind === 'texts') { result[f.name] = Array.prototype.map.call(document.querySelectorAll(f.selector), textOf); }" +
+            "  else if (f.kind === 'count') { result[f.name] = document.querySelectorAll(f.selector).length; }" +
+            "}" +
+            "return result;";
+
+    private final List<Map<String, String>> fields = new ArrayList<>();
+
+    // Visible text of the first match, null when missing or hidden
+    public DomSnapshot text(String name, String cssSelector) {
+        return addField(name, "text", cssSelector, null);
+    }
+
+    public DomSnapshot visible(String name, String cssSelector) {
+        return addField(name, "visible", cssSelector, null);
+    }
+
+    public DomSnapshot attribute(String name, String cssSelector, String attribute) {
+        return addField(name, "attribute", cssSelector, attribute);
+    }
+
+    // Text of every match, in document order
+    public DomSnapshot texts(String name, String cssSelector) {
+        return addField(name, "texts", cssSelector, null);
+    }
+
+    public DomSnapshot count(String name, String cssSelector) {
+        return addField(name, "count", cssSelector, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Result fetch(WebDriver driver) {
+        Object values = ((JavascriptExecutor) driver).executeScript(SCRIPT, fields);
+        return new Result(values instanceof Map ? (Map<String, Object>) values : Collections.emptyMap());
+    }
+
+    public <R> R fetch(WebDriver driver, Function<Result, R> mapper) {
+        return mapper.apply(fetch(driver));
+    }
+
+    private DomSnapshot addField(String name, String kind, String cssSelector, String attribute) {
+        Map<String, String> field = new LinkedHashMap<>();
+        field.put("name", name);
+        field.put("kind", kind);
+        field.put("selector", cssSelector);
+        if (attribute != null) {
+            field.put("attribute", attribute);
+        }
+        fields.add(Collections.unmodifiableMap(field));
+        return this;
+    }
+
+    /**
+     * Values read by one snapshot, keyed by field name
+     */
+    public static class Result {
+        private final Map<String, Object> values;
+
+        Result(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        public String getText(String name) {
+            Object value = values.get(name);
+            return value != null ? value.toString() : null;
+        }
+
+        public boolean isVisible(String name) {
+            return Boolean.TRUE.equals(values.get(name));
+        }
+
+        public String getAttribute(String name) {
+            return getText(name);
+        }
+
+        public List<String> getTexts(String name) {
+            Object value = values.get(name);
+            if (!(value instanceof List<?> list)) {
+                return Collections.emptyList();
+            }
+            List<String> texts = new ArrayList<>(list.size());
+            for (Object item : list) {
+                texts.add(item != null ? item.toString() : null);
+            }
+            return texts;
+        }
+
+        public long getCount(String name) {
+            Object value = values.get(name);
+            return value instanceof Number number ? number.longValue() : 0L;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.saucedemo.pages;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Element cache hit/miss counters, one instance per page object class
+ */
+public class LocatorStatistics {
+    private static final Map<String, LocatorStatistics> statisticsByPage = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleRetries = new LongAdder();
+
+    static LocatorStatistics forPage(Class<?> pageClass) {
+        return statisticsByPage.computeIfAbsent(pageClass.getSimpleName(), key -> new LocatorStatistics());
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordStale() {
+        staleRetries.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStaleRetries() {
+        return staleRetries.sum();
+    }
+
+    public static void printStatistics() {
+        if (statisticsByPage.isEmpty()) {
+            return;
+        }
+        System.out.println("\n=== Element Cache Statistics ===");
+        new TreeMap<>(statisticsByPage).forEach((page, stats) -> System.out.println(page + ": " + stats));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d lookups, %d stale re-resolves", getHits(), getMisses(), getStaleRetries());
+    }
+}
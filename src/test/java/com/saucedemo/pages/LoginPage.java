@@ -1,5 +1,6 @@
 package com.saucedemo.pages;
 
+import com.saucedemo.utils.PerformanceCollector;
 import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -25,7 +26,11 @@ public class LoginPage extends BasePage {
 
     @Step("Check if login page is displayed")
     public boolean isLoginPageDisplayed() {
-        return isElementDisplayed(loginLogo);
+        boolean displayed = waitForElementDisplayed(loginLogo);
+        if (displayed) {
+            PerformanceCollector.completeTransition(driver, "login");
+        }
+        return displayed;
     }
 
     @Step("Enter username: {username}")
@@ -42,6 +47,8 @@ public class LoginPage extends BasePage {
 
     @Step("Click login button")
     public void clickLogin() {
+        // Login is a page transition, timed until the next page confirms it is displayed
+        PerformanceCollector.startTransition();
         click(loginButton);
     }
 }
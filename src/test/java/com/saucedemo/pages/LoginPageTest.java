@@ -0,0 +1,68 @@
+package com.saucedemo.pages;
+
+import com.saucedemo.utils.FakeSauceDemo;
+import com.saucedemo.utils.FakeWebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * LoginPage against the in-memory SauceDemo model
+ */
+public class LoginPageTest {
+    private static final String APP_URL = "https://www.saucedemo.com/";
+
+    private FakeWebDriver driver;
+    private LoginPage loginPage;
+
+    @BeforeMethod
+    public void openLoginPage() {
+        driver = FakeSauceDemo.createDriver();
+        driver.get(APP_URL);
+        loginPage = new LoginPage(driver);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void quitDriver() {
+        driver.quit();
+    }
+
+    @Test
+    public void loginPageIsDisplayed() {
+        Assert.assertTrue(loginPage.isLoginPageDisplayed());
+    }
+
+    @Test
+    public void validCredentialsOpenTheProductsPage() {
+        loginPage.enterUsername("standard_user")
+                .enterPassword("secret_sauce")
+                .clickLogin();
+
+        Assert.assertEquals(driver.getCurrentUrl(), APP_URL + "inventory.html");
+        Assert.assertNotNull(driver.manage().getCookieNamed("session-username"), "no session after login");
+    }
+
+    @Test
+    public void lockedOutUserStaysOnTheLoginPage() {
+        loginPage.enterUsername("locked_out_user")
+                .enterPassword("secret_sauce")
+                .clickLogin();
+
+        Assert.assertEquals(driver.getCurrentUrl(), APP_URL);
+        Assert.assertTrue(loginPage.isLoginPageDisplayed());
+    }
+
+    @Test
+    public void fieldsAreFoundAgainAfterThePageReloads() {
+        loginPage.enterUsername("standard_user");
+        // Every element cached by the page object goes stale
+        driver.navigate().refresh();
+
+        loginPage.enterUsername("standard_user")
+                .enterPassword("secret_sauce")
+                .clickLogin();
+
+        Assert.assertEquals(driver.getCurrentUrl(), APP_URL + "inventory.html");
+    }
+}
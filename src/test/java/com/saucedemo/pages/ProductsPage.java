@@ -1,12 +1,25 @@
 package com.saucedemo.pages;
 
+import com.saucedemo.utils.PerformanceCollector;
 import io.qameta.allure.Step;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.List;
+
 public class ProductsPage extends BasePage{
 
+    // Everything the products page assertions need, read in one round trip
+    private static final DomSnapshot PAGE_STATE = new DomSnapshot()
+            .visible("titleVisible", ".title")
+            .text("title", ".title")
+            .texts("productNames", ".inventory_item_name");
+
+    public record ProductsPageState(boolean titleVisible, String title, List<String> productNames) {
+    }
+
     @FindBy(className = "title")
     private WebElement pageTitle;
 
@@ -19,8 +32,36 @@ public class ProductsPage extends BasePage{
         return getText(pageTitle);
     }
 
+    @Step("Read products page state")
+    public ProductsPageState getPageState() {
+        return readPageState();
+    }
+
+    @Step("Get product names")
+    public List<String> getProductNames() {
+        return readPageState().productNames();
+    }
+
+    // No @Step here: it runs on every poll of a wait and inside other steps, each call would add an Allure step
+    private ProductsPageState readPageState() {
+        return PAGE_STATE.fetch(driver, result -> new ProductsPageState(
+                result.isVisible("titleVisible"),
+                result.getText("title"),
+                result.getTexts("productNames")));
+    }
+
     @Step("Check if products page is displayed")
     public boolean isProductsPageDisplayed() {
-        return isElementDisplayed(pageTitle) && getPageTitleText().equals("Products");
+        try {
+            // Each poll is a single snapshot instead of separate isDisplayed and getText commands
+            ProductsPageState state = wait.until(d -> {
+                ProductsPageState current = readPageState();
+                return current.titleVisible() ? current : null;
+            }, "ProductsPage displayed check");
+            PerformanceCollector.completeTransition(driver, "products");
+            return "Products".equals(state.title());
+        } catch (TimeoutException e) {
+            return false;
+        }
     }
 }
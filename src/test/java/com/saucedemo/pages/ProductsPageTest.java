@@ -0,0 +1,72 @@
+package com.saucedemo.pages;
+
+import com.saucedemo.utils.FakeSauceDemo;
+import com.saucedemo.utils.FakeWebDriver;
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * ProductsPage against the in-memory SauceDemo model, logged in through its session cookie
+ */
+public class ProductsPageTest {
+    private static final String INVENTORY_URL = "https://www.saucedemo.com/inventory.html";
+
+    private FakeWebDriver driver;
+
+    @BeforeMethod
+    public void openProductsPage() {
+        driver = FakeSauceDemo.createDriver();
+        driver.get("https://www.saucedemo.com/");
+        driver.manage().addCookie(new Cookie("session-username", "standard_user", "/"));
+        driver.get(INVENTORY_URL);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void quitDriver() {
+        driver.quit();
+    }
+
+    @Test
+    public void productsPageIsDisplayed() {
+        ProductsPage productsPage = new ProductsPage(driver);
+
+        Assert.assertTrue(productsPage.isProductsPageDisplayed());
+        Assert.assertEquals(productsPage.getPageTitleText(), "Products");
+    }
+
+    @Test
+    public void pageStateIsReadInOneSnapshot() {
+        ProductsPage.ProductsPageState state = new ProductsPage(driver).getPageState();
+
+        Assert.assertTrue(state.titleVisible());
+        Assert.assertEquals(state.title(), "Products");
+        Assert.assertEquals(state.productNames().size(), 6);
+        Assert.assertEquals(state.productNames().get(0), "Sauce Labs Backpack");
+    }
+
+    @Test
+    public void productNamesAreReadAgainAfterThePageReloads() {
+        ProductsPage productsPage = new ProductsPage(driver);
+        List<String> before = productsPage.getProductNames();
+
+        driver.navigate().refresh();
+
+        Assert.assertEquals(productsPage.getProductNames(), before);
+        Assert.assertEquals(productsPage.getPageTitleText(), "Products");
+    }
+
+    @Test
+    public void productsPageIsNotDisplayedWithoutASession() {
+        driver.manage().deleteAllCookies();
+        driver.get(INVENTORY_URL);
+
+        // The model redirects to the login page, so the check gives up after explicit.wait
+        Assert.assertFalse(new ProductsPage(driver).isProductsPageDisplayed());
+        Assert.assertTrue(new LoginPage(driver).isLoginPageDisplayed());
+    }
+}
@@ -0,0 +1,18 @@
+package com.saucedemo.pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a page object that relies on rendering or browser APIs HtmlUnit does not provide
+ * (layout, screenshots, DevTools). Creating it under browser=htmlunit or browser=fake skips the scenario.
+ * Scenarios can opt out of HtmlUnit runs with the @htmlunit-incompatible tag.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RequiresRealBrowser {
+    // Why the page cannot run on HtmlUnit, shown in the skip message
+    String value() default "";
+}
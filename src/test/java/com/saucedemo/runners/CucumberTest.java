@@ -1,35 +1,129 @@
 package com.saucedemo.runners;
 
 import com.saucedemo.listeners.TestSuiteListener;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.WebDriverManager;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
 import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.SkipException;
 import org.testng.annotations.*;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"com.saucedemo.stepdefinitions"},
         plugin = {
                 "pretty",
                 "html:build/cucumber-reports/cucumber.html",
-                "json:build/cucumber-reports/cucumber.json",
-                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+                // JSON report is registered in setUpClass so each shard writes to its own directory
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm",
+                "com.saucedemo.listeners.StepContextListener"
         },
         monochrome = true
 //        tags = "@smoke"
 )
 @Listeners({TestSuiteListener.class}) // Add this line to register the listener
 public class CucumberTest {
+    private static final ConfigReader configReader = new ConfigReader();
+    // Reruns per failed scenario, 0 disables reruns
+    private static final int RERUN_MAX_ATTEMPTS = Integer.parseInt(configReader.getProperty("rerun.max.attempts", "0"));
+    // More failures than this point at a real regression rather than a blip, those are reported right away
+    private static final int RERUN_MAX_SCENARIOS = Integer.parseInt(configReader.getProperty("rerun.max.scenarios", "5"));
 
+    private ShardSelector shardSelector;
+    private final ImpactSelector impactSelector = ImpactSelector.fromConfig(configReader);
+    private final DurationHistory durationHistory =
+            new DurationHistory(configReader.getProperty("scenario.history.file", ".cache/scenario-durations.properties"));
     private TestNGCucumberRunner testNGCucumberRunner;
+    private ScenarioDispatcher scenarioDispatcher;
+    private final Queue<Object[]> failedScenarios = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduledReruns = new AtomicInteger();
 
     @BeforeClass(alwaysRun = true)
     public void setUpClass() {
+        // Here rather than in a field, so a shard misconfiguration fails the class with its message
+        shardSelector = ShardSelector.fromEnvironment();
+        // The index dry run goes first, before the JSON report and tag defaults are added to the Cucumber options
+        impactSelector.refreshIndex();
+        registerJsonReport();
+        applyHtmlUnitTagDefault();
+        // Browsers start in the background while Cucumber scans the glue
+        WebDriverManager.prewarmDrivers();
         testNGCucumberRunner = new TestNGCucumberRunner(this.getClass());
+
+        // In parallel mode scenarios run on the dispatcher and TestNG only collects their results
+        if ("parallel".equalsIgnoreCase(configReader.getProperty("scenario.execution.mode", "sequential"))) {
+            int concurrency = Integer.parseInt(configReader.getProperty("scenario.concurrency", "3"));
+            boolean virtualThreads = Boolean.parseBoolean(configReader.getProperty("scenario.virtual.threads", "true"));
+            scenarioDispatcher = new ScenarioDispatcher(testNGCucumberRunner::runScenario, concurrency, virtualThreads);
+            System.out.println("Running scenarios in parallel with concurrency " + concurrency
+                    + (virtualThreads ? " on virtual threads" : " on platform threads"));
+        }
     }
 
     @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
-    public void runScenario(io.cucumber.testng.PickleWrapper pickleWrapper, io.cucumber.testng.FeatureWrapper featureWrapper) {
-        testNGCucumberRunner.runScenario(pickleWrapper.getPickle());
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Throwable {
+        try {
+            if (scenarioDispatcher != null) {
+                try {
+                    scenarioDispatcher.awaitResult(pickleWrapper.getPickle());
+                } finally {
+                    recordDispatchedTiming(scenarioDispatcher.removeTiming(pickleWrapper.getPickle()));
+                }
+            } else {
+                testNGCucumberRunner.runScenario(pickleWrapper.getPickle());
+            }
+        } catch (SkipException e) {
+            throw e;
+        } catch (Throwable failure) {
+            scheduleRerun(pickleWrapper, featureWrapper, failure);
+        }
+    }
+
+    /**
+     * Runs the scenarios that failed in runScenario again once all of them are done, on the sessions
+     * the pool already holds. Every attempt is reported to Allure by the Cucumber plugin.
+     */
+    @Test(groups = "cucumber", description = "Reruns failed Cucumber Scenarios", dataProvider = "failedScenarios",
+            dependsOnMethods = "runScenario", alwaysRun = true)
+    public void rerunScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Throwable {
+        Reporter.getCurrentTestResult().setAttribute(TestSuiteListener.RERUN_ATTRIBUTE, true);
+        Throwable lastFailure = null;
+        for (int attempt = 1; attempt <= RERUN_MAX_ATTEMPTS; attempt++) {
+            System.out.println("Rerunning failed scenario (attempt " + attempt + "/" + RERUN_MAX_ATTEMPTS + "): "
+                    + pickleWrapper.getPickle().getName());
+            try {
+                testNGCucumberRunner.runScenario(pickleWrapper.getPickle());
+                System.out.println("Scenario passed on rerun, reported as flaky: " + pickleWrapper.getPickle().getName());
+                return;
+            } catch (SkipException e) {
+                throw e;
+            } catch (Throwable failure) {
+                lastFailure = failure;
+            }
+        }
+        throw lastFailure;
+    }
+
+    // Evaluated by TestNG only after every runScenario invocation has finished
+    @DataProvider(parallel = false)
+    public Object[][] failedScenarios() {
+        return failedScenarios.toArray(new Object[0][]);
+    }
+
+    // The failure always stands in TestNG and Allure; within the budget the scenario is also queued for a rerun
+    private void scheduleRerun(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper, Throwable failure) throws Throwable {
+        if (RERUN_MAX_ATTEMPTS > 0 && scheduledReruns.incrementAndGet() <= RERUN_MAX_SCENARIOS) {
+            failedScenarios.add(new Object[]{pickleWrapper, featureWrapper});
+        }
+        throw failure;
     }
 
     @DataProvider(parallel = false)
@@ -37,11 +131,51 @@ public class CucumberTest {
         if (testNGCucumberRunner == null) {
             return new Object[0][0];
         }
-        return testNGCucumberRunner.provideScenarios();
+        // Change-based selection first, so shards split only the affected scenarios
+        Object[][] scenarios = impactSelector.select(testNGCucumberRunner.provideScenarios());
+        scenarios = shardSelector.select(scenarios);
+        // Longest scenarios first, so a slow one never starts last and stretches the run
+        scenarios = durationHistory.orderLongestFirst(scenarios);
+
+        // Start every scenario now, each runScenario invocation then waits for its own result
+        if (scenarioDispatcher != null) {
+            for (Object[] scenario : scenarios) {
+                scenarioDispatcher.dispatch(((PickleWrapper) scenario[0]).getPickle());
+            }
+        }
+        return scenarios;
+    }
+
+    // Lets TestSuiteListener report the scenario's real duration instead of the time spent waiting for it
+    private static void recordDispatchedTiming(ScenarioDispatcher.Timing timing) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (timing != null && result != null) {
+            result.setAttribute(TestSuiteListener.SCENARIO_START_ATTRIBUTE, timing.startMillis());
+            result.setAttribute(TestSuiteListener.SCENARIO_END_ATTRIBUTE, timing.endMillis());
+        }
+    }
+
+    // cucumber.plugin entries are added to the plugins declared in @CucumberOptions
+    private void registerJsonReport() {
+        String jsonPlugin = "json:" + shardSelector.getOutputDirectory("build/cucumber-reports") + "/cucumber.json";
+        String plugins = System.getProperty("cucumber.plugin");
+        System.setProperty("cucumber.plugin",
+                (plugins == null || plugins.isEmpty()) ? jsonPlugin : plugins + "," + jsonPlugin);
+    }
+
+    // HtmlUnit runs are meant for fast smoke checks, -Dcucumber.filter.tags still takes precedence
+    private void applyHtmlUnitTagDefault() {
+        String tags = System.getProperty("cucumber.filter.tags");
+        if (WebDriverManager.isHtmlUnit() && (tags == null || tags.isEmpty())) {
+            System.setProperty("cucumber.filter.tags", configReader.getProperty("htmlunit.tags", "@smoke"));
+        }
     }
 
     @AfterClass(alwaysRun = true)
     public void tearDownClass() {
+        if (scenarioDispatcher != null) {
+            scenarioDispatcher.shutdown();
+        }
         if (testNGCucumberRunner != null) {
             testNGCucumberRunner.finish();
         }
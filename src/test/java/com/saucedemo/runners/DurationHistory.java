@@ -0,0 +1,123 @@
+package com.saucedemo.runners;
+
+import com.saucedemo.utils.SuiteMetrics;
+import io.cucumber.testng.PickleWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local per-scenario duration history, keyed by {@link ShardSelector#scenarioKey}.
+ * Used to start the longest scenarios first and to balance shards by expected duration.
+ * Durations are smoothed with an exponential moving average so one slow run does not dominate.
+ */
+public class DurationHistory {
+    private static final double SMOOTHING = 0.5;
+    private static final long DEFAULT_ESTIMATE_MILLIS = 10_000;
+
+    private final Path file;
+    private final Map<String, Long> expectedMillis = new ConcurrentHashMap<>();
+
+    public DurationHistory(String file) {
+        this.file = Path.of(file);
+        load();
+    }
+
+    public boolean isEmpty() {
+        return expectedMillis.isEmpty();
+    }
+
+    /**
+     * Expected duration of a scenario; scenarios without history are assumed to take the average
+     */
+    public long expectedMillis(String scenarioKey) {
+        Long known = expectedMillis.get(scenarioKey);
+        if (known != null) {
+            return known;
+        }
+        OptionalDouble average = expectedMillis.values().stream().mapToLong(Long::longValue).average();
+        return (long) average.orElse(DEFAULT_ESTIMATE_MILLIS);
+    }
+
+    public long expectedMillis(Object[] scenarioRow) {
+        return expectedMillis(ShardSelector.scenarioKey(((PickleWrapper) scenarioRow[0]).getPickle()));
+    }
+
+    /**
+     * Longest-processing-time-first order, ties broken by location so every run orders them the same way
+     */
+    public Object[][] orderLongestFirst(Object[][] scenarios) {
+        Map<Object[], Long> expected = new IdentityHashMap<>();
+        for (Object[] row : scenarios) {
+            expected.put(row, expectedMillis(row));
+        }
+
+        Object[][] ordered = scenarios.clone();
+        Arrays.sort(ordered, Comparator
+                .comparingLong((Object[] row) -> expected.get(row)).reversed()
+                .thenComparing(row -> ShardSelector.scenarioKey(((PickleWrapper) row[0]).getPickle())));
+        return ordered;
+    }
+
+    /**
+     * Fold the durations of finished scenarios into the history and save it
+     */
+    public void update(List<SuiteMetrics.ScenarioRecord> records) {
+        for (SuiteMetrics.ScenarioRecord record : records) {
+            if (record.status() == SuiteMetrics.Status.SKIPPED) {
+                continue;
+            }
+            expectedMillis.merge(record.key(), record.durationMillis(),
+                    (previous, latest) -> Math.round(SMOOTHING * latest + (1 - SMOOTHING) * previous));
+        }
+        save();
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Failed to read scenario duration history " + file + ": " + e.getMessage());
+            return;
+        }
+        properties.forEach((key, value) -> {
+            try {
+                expectedMillis.put(key.toString(), Long.parseLong(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                // Ignore corrupt entries, they are rewritten on the next save
+            }
+        });
+    }
+
+    private void save() {
+        // Properties are stored sorted by key, which keeps the file diff-friendly when shared through a CI cache
+        Properties properties = new Properties();
+        expectedMillis.forEach((key, value) -> properties.setProperty(key, String.valueOf(value)));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "Expected scenario durations in milliseconds");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write scenario duration history " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.saucedemo.runners;
+
+import com.saucedemo.utils.SuiteMetrics;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DurationHistory smoothing, estimates for unknown scenarios and longest-first ordering
+ */
+public class DurationHistoryTest {
+    private Path directory;
+    private Path file;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("duration-history");
+        file = directory.resolve("durations.properties");
+    }
+
+    @Test
+    public void firstDurationIsTakenAsMeasured() {
+        DurationHistory history = new DurationHistory(file.toString());
+
+        history.update(List.of(record("a.feature:3", SuiteMetrics.Status.PASSED, 1000)));
+
+        Assert.assertEquals(history.expectedMillis("a.feature:3"), 1000);
+    }
+
+    @Test
+    public void laterDurationsAreSmoothedWithTheExponentialMovingAverage() {
+        DurationHistory history = new DurationHistory(file.toString());
+
+        history.update(List.of(record("a.feature:3", SuiteMetrics.Status.PASSED, 1000)));
+        history.update(List.of(record("a.feature:3", SuiteMetrics.Status.FAILED, 2000)));
+        Assert.assertEquals(history.expectedMillis("a.feature:3"), 1500);
+
+        // One fast run only pulls the estimate halfway down
+        history.update(List.of(record("a.feature:3", SuiteMetrics.Status.PASSED, 500)));
+        Assert.assertEquals(history.expectedMillis("a.feature:3"), 1000);
+    }
+
+    @Test
+    public void skippedScenariosDoNotChangeTheEstimate() {
+        DurationHistory history = new DurationHistory(file.toString());
+
+        history.update(List.of(record("a.feature:3", SuiteMetrics.Status.PASSED, 1000)));
+        history.update(List.of(record("a.feature:3", SuiteMetrics.Status.SKIPPED, 5)));
+
+        Assert.assertEquals(history.expectedMillis("a.feature:3"), 1000);
+    }
+
+    @Test
+    public void unknownScenariosAreExpectedToTakeTheAverage() {
+        DurationHistory history = new DurationHistory(file.toString());
+        Assert.assertTrue(history.isEmpty());
+        Assert.assertEquals(history.expectedMillis("new.feature:3"), 10_000, "default estimate without any history");
+
+        history.update(List.of(
+                record("a.feature:3", SuiteMetrics.Status.PASSED, 1000),
+                record("b.feature:3", SuiteMetrics.Status.PASSED, 3000)));
+
+        Assert.assertEquals(history.expectedMillis("new.feature:3"), 2000);
+    }
+
+    @Test
+    public void historyIsReadBackFromTheSavedFile() {
+        new DurationHistory(file.toString()).update(List.of(
+                record("src/test/resources/features/login.feature:10", SuiteMetrics.Status.PASSED, 1234)));
+
+        DurationHistory reloaded = new DurationHistory(file.toString());
+
+        Assert.assertEquals(reloaded.expectedMillis("src/test/resources/features/login.feature:10"), 1234);
+    }
+
+    @Test
+    public void scenariosAreOrderedLongestFirst() throws IOException {
+        Object[][] scenarios = TestScenarios.numbered(directory, 3);
+        DurationHistory history = new DurationHistory(file.toString());
+        history.update(List.of(
+                record(TestScenarios.key(scenarios[0]), SuiteMetrics.Status.PASSED, 100),
+                record(TestScenarios.key(scenarios[1]), SuiteMetrics.Status.PASSED, 9000),
+                record(TestScenarios.key(scenarios[2]), SuiteMetrics.Status.PASSED, 500)));
+
+        List<String> order = Arrays.stream(history.orderLongestFirst(scenarios)).map(TestScenarios::key).toList();
+
+        Assert.assertEquals(order, List.of(TestScenarios.key(scenarios[1]), TestScenarios.key(scenarios[2]),
+                TestScenarios.key(scenarios[0])));
+    }
+
+    private static SuiteMetrics.ScenarioRecord record(String key, SuiteMetrics.Status status, long durationMillis) {
+        return new SuiteMetrics.ScenarioRecord(key, key, List.of(), status, 0, durationMillis, 0);
+    }
+}
@@ -0,0 +1,316 @@
+package com.saucedemo.runners;
+
+import io.cucumber.core.cli.Main;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Dependency index from scenarios to the framework classes they reach, used for change-based selection.
+ * Scenario to glue: a Cucumber dry run records the step definition and hook classes of every test case.
+ * Glue to pages and utilities: class files are scanned for references to other com.saucedemo classes.
+ * The index is cached; on refresh only features whose content changed are dry-run again (all of them when
+ * the step definitions changed) and only class files whose content changed are parsed again.
+ * Checksums are used rather than timestamps so the cache stays valid across clean builds on CI.
+ */
+public class ImpactIndex {
+    private static final String GLUE = "com.saucedemo.stepdefinitions";
+    private static final String GLUE_LISTENER = "com.saucedemo.listeners.GlueUsageListener";
+    private static final Pattern CLASS_REFERENCE = Pattern.compile("com/saucedemo/[\\w/$]+");
+
+    private static volatile ImpactIndex current;
+
+    private record ClassEntry(String stamp, Set<String> references) {
+    }
+
+    private final Path file;
+    private final Path featuresDir;
+    private final Path classesDir;
+    private final Map<String, String> featureHashes = new HashMap<>();
+    private final Map<String, Set<String>> scenarioGlue = new ConcurrentHashMap<>();
+    private final Map<String, ClassEntry> classes = new HashMap<>();
+    private final Map<String, Set<String>> closures = new HashMap<>();
+    private String glueHash = "";
+
+    public ImpactIndex(String file, String featuresDir, Path classesDir) {
+        this.file = Path.of(file);
+        this.featuresDir = Path.of(featuresDir);
+        this.classesDir = classesDir;
+        load();
+    }
+
+    // Index being refreshed, fed by GlueUsageListener during the dry run
+    public static ImpactIndex current() {
+        return current;
+    }
+
+    public void recordScenario(String scenarioKey, Set<String> glueClasses) {
+        scenarioGlue.put(scenarioKey, Set.copyOf(glueClasses));
+    }
+
+    /**
+     * Bring the index up to date with the features on disk and the compiled classes, then save it
+     */
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        int rescanned = refreshClasses();
+        String currentGlueHash = glueHash();
+        boolean glueChanged = !currentGlueHash.equals(glueHash);
+
+        Map<String, String> currentFeatures = featureHashes();
+        List<String> staleFeatures = new ArrayList<>();
+        for (Map.Entry<String, String> feature : currentFeatures.entrySet()) {
+            if (glueChanged || !feature.getValue().equals(featureHashes.get(feature.getKey()))) {
+                staleFeatures.add(feature.getKey());
+            }
+        }
+        // Scenarios of deleted or stale features are dropped, the dry run adds the current ones back
+        scenarioGlue.keySet().removeIf(key -> {
+            String feature = key.substring(0, key.lastIndexOf(':'));
+            return !currentFeatures.containsKey(feature) || staleFeatures.contains(feature);
+        });
+        if (!staleFeatures.isEmpty()) {
+            dryRun(staleFeatures);
+        }
+
+        featureHashes.clear();
+        featureHashes.putAll(currentFeatures);
+        glueHash = currentGlueHash;
+        closures.clear();
+        save();
+        System.out.println("Impact index refreshed in " + (System.currentTimeMillis() - start) + " ms: "
+                + staleFeatures.size() + " of " + currentFeatures.size() + " features dry-run, "
+                + rescanned + " of " + classes.size() + " classes rescanned");
+    }
+
+    /**
+     * Top-level classes reached from the scenario's glue, or null when the scenario is not indexed
+     */
+    public Set<String> reachedClasses(String scenarioKey) {
+        Set<String> glue = scenarioGlue.get(scenarioKey);
+        if (glue == null) {
+            return null;
+        }
+        Set<String> reached = new HashSet<>();
+        for (String glueClass : glue) {
+            reached.addAll(closure(glueClass));
+        }
+        return reached;
+    }
+
+    public boolean isReachedByAnyScenario(String className) {
+        return scenarioGlue.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .anyMatch(glueClass -> closure(glueClass).contains(className));
+    }
+
+    // Every class the given one reaches, directly or through other framework classes, nested classes folded in
+    private Set<String> closure(String className) {
+        Set<String> cached = closures.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        Set<String> reached = new HashSet<>();
+        List<String> pending = new ArrayList<>(List.of(className));
+        Set<String> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String next = pending.remove(pending.size() - 1);
+            if (!visited.add(next)) {
+                continue;
+            }
+            reached.add(topLevel(next));
+            ClassEntry entry = classes.get(next);
+            if (entry != null) {
+                pending.addAll(entry.references());
+            }
+        }
+        closures.put(className, reached);
+        return reached;
+    }
+
+    private static String topLevel(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private void dryRun(List<String> features) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--dry-run",
+                "--glue", GLUE,
+                "--plugin", GLUE_LISTENER,
+                "--monochrome",
+                "--no-summary"));
+        arguments.addAll(features);
+        current = this;
+        try {
+            Main.run(arguments.toArray(new String[0]), Thread.currentThread().getContextClassLoader());
+        } finally {
+            current = null;
+        }
+    }
+
+    private Map<String, String> featureHashes() {
+        Map<String, String> hashes = new HashMap<>();
+        if (!Files.isDirectory(featuresDir)) {
+            return hashes;
+        }
+        try (Stream<Path> paths = Files.walk(featuresDir)) {
+            for (Path path : paths.filter(p -> p.toString().endsWith(".feature")).toList()) {
+                hashes.put(ShardSelector.relativePath(path), checksum(Files.readAllBytes(path)));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read feature files in " + featuresDir, e);
+        }
+        return hashes;
+    }
+
+    // Any change to the compiled step definitions may change which steps they match
+    private String glueHash() {
+        CRC32 crc = new CRC32();
+        classes.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(GLUE + "."))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> crc.update((entry.getKey() + "=" + entry.getValue().stamp() + "\n").getBytes()));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private int refreshClasses() {
+        Path root = classesDir.resolve("com/saucedemo");
+        Set<String> present = new HashSet<>();
+        int rescanned = 0;
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                for (Path path : paths.filter(p -> p.toString().endsWith(".class")).toList()) {
+                    String relative = classesDir.relativize(path).toString().replace('\\', '/');
+                    String className = relative.substring(0, relative.length() - ".class".length()).replace('/', '.');
+                    byte[] bytes = Files.readAllBytes(path);
+                    String stamp = checksum(bytes);
+                    present.add(className);
+                    ClassEntry known = classes.get(className);
+                    if (known == null || !known.stamp().equals(stamp)) {
+                        classes.put(className, new ClassEntry(stamp, references(bytes, className)));
+                        rescanned++;
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to scan compiled classes in " + classesDir, e);
+            }
+        }
+        classes.keySet().retainAll(present);
+        return rescanned;
+    }
+
+    /**
+     * Framework classes named anywhere in the constant pool: class entries, field and method descriptors,
+     * generic signatures and lambda bootstrap arguments
+     */
+    private static Set<String> references(byte[] classBytes, String self) throws IOException {
+        Set<String> references = new TreeSet<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classBytes));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file: " + self);
+        }
+        in.skipBytes(4);
+        int count = in.readUnsignedShort();
+        for (int index = 1; index < count; index++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> {
+                    Matcher matcher = CLASS_REFERENCE.matcher(in.readUTF());
+                    while (matcher.find()) {
+                        references.add(matcher.group().replace('/', '.'));
+                    }
+                }
+                case 7, 8, 16, 19, 20 -> in.skipBytes(2);
+                case 15 -> in.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                case 5, 6 -> {
+                    // Long and double take two constant pool slots
+                    in.skipBytes(8);
+                    index++;
+                }
+                default -> throw new IOException("Unknown constant pool tag " + tag + " in " + self);
+            }
+        }
+        references.remove(self);
+        return references;
+    }
+
+    private static String checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return Long.toHexString(crc.getValue());
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Failed to read impact index " + file + ": " + e.getMessage());
+            return;
+        }
+        glueHash = properties.getProperty("glue", "");
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            if (key.startsWith("feature.")) {
+                featureHashes.put(key.substring("feature.".length()), value);
+            } else if (key.startsWith("scenario.")) {
+                scenarioGlue.put(key.substring("scenario.".length()), split(value));
+            } else if (key.startsWith("class.")) {
+                int separator = value.indexOf('|');
+                if (separator > 0) {
+                    classes.put(key.substring("class.".length()),
+                            new ClassEntry(value.substring(0, separator), split(value.substring(separator + 1))));
+                }
+            }
+        }
+    }
+
+    private void save() {
+        Properties properties = new Properties();
+        properties.setProperty("glue", glueHash);
+        featureHashes.forEach((feature, hash) -> properties.setProperty("feature." + feature, hash));
+        scenarioGlue.forEach((key, glue) -> properties.setProperty("scenario." + key, String.join(",", new TreeSet<>(glue))));
+        classes.forEach((className, entry) -> properties.setProperty("class." + className,
+                entry.stamp() + "|" + String.join(",", entry.references())));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "Scenario to glue to framework class dependency index");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write impact index " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Set<String> split(String value) {
+        return value.isEmpty() ? Set.of() : new HashSet<>(Arrays.asList(value.split(",")));
+    }
+}
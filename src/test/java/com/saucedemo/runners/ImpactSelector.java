@@ -0,0 +1,154 @@
+package com.saucedemo.runners;
+
+import com.saucedemo.utils.ConfigReader;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Change-based scenario selection: given the files changed by a commit (e.g. git diff --name-only),
+ * keeps the scenarios of changed features and the scenarios whose glue reaches a changed class,
+ * plus every scenario tagged with one of impact.always.tags.
+ * Changes the index cannot attribute (build files, configuration, framework code outside the glue's reach)
+ * select the whole suite, so a selection never misses a scenario the change could break.
+ */
+public class ImpactSelector {
+    private static final String SOURCE_ROOT = "src/test/java/";
+
+    private final Path changedFilesList;
+    private final List<String> alwaysTags;
+    private final List<String> ignoredPaths;
+    private final ImpactIndex index;
+
+    public ImpactSelector(Path changedFilesList, List<String> alwaysTags, List<String> ignoredPaths, ImpactIndex index) {
+        this.changedFilesList = changedFilesList;
+        this.alwaysTags = alwaysTags;
+        this.ignoredPaths = ignoredPaths;
+        this.index = index;
+    }
+
+    /**
+     * Selection is enabled by impact.changed.files, a file listing one changed path per line relative to the project
+     */
+    public static ImpactSelector fromConfig(ConfigReader configReader) {
+        String changedFiles = configReader.getProperty("impact.changed.files", "");
+        if (changedFiles.isEmpty()) {
+            return new ImpactSelector(null, List.of(), List.of(), null);
+        }
+        ImpactIndex index = new ImpactIndex(
+                configReader.getProperty("impact.index.file", ".cache/impact-index.properties"),
+                "src/test/resources/features",
+                compiledClassesDirectory());
+        return new ImpactSelector(Path.of(changedFiles),
+                splitList(configReader.getProperty("impact.always.tags", "@smoke")),
+                splitList(configReader.getProperty("impact.ignored.paths", "*.md,docs/,src/jmh/")),
+                index);
+    }
+
+    public boolean isEnabled() {
+        return index != null;
+    }
+
+    // Called before the scenarios are provided, so a stale index never decides the selection
+    public void refreshIndex() {
+        if (isEnabled()) {
+            index.refresh();
+        }
+    }
+
+    public Object[][] select(Object[][] scenarios) {
+        if (!isEnabled()) {
+            return scenarios;
+        }
+
+        List<String> changedFiles = readChangedFiles();
+        Set<String> changedFeatures = new HashSet<>();
+        Set<String> changedClasses = new HashSet<>();
+        for (String path : changedFiles) {
+            if (isIgnored(path)) {
+                continue;
+            }
+            if (path.endsWith(".feature")) {
+                changedFeatures.add(path);
+            } else if (path.startsWith(SOURCE_ROOT) && path.endsWith(".java")) {
+                changedClasses.add(path.substring(SOURCE_ROOT.length(), path.length() - ".java".length()).replace('/', '.'));
+            } else {
+                System.out.println("Impact selection: running all scenarios, " + path + " can affect any of them");
+                return scenarios;
+            }
+        }
+
+        // Runners, listeners and other code no glue reaches still shape every scenario's run
+        for (String changedClass : changedClasses) {
+            if (!index.isReachedByAnyScenario(changedClass)) {
+                System.out.println("Impact selection: running all scenarios, " + changedClass
+                        + " is not reached from the glue");
+                return scenarios;
+            }
+        }
+
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : scenarios) {
+            Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+            String key = ShardSelector.scenarioKey(pickle);
+            Set<String> reached = index.reachedClasses(key);
+            // Scenarios missing from the index are kept, e.g. when the dry run could not parse their feature
+            boolean affected = reached == null
+                    || changedFeatures.contains(key.substring(0, key.lastIndexOf(':')))
+                    || reached.stream().anyMatch(changedClasses::contains);
+            if (affected || pickle.getTags().stream().anyMatch(alwaysTags::contains)) {
+                selected.add(row);
+            }
+        }
+
+        System.out.println("Impact selection: running " + selected.size() + " of " + scenarios.length
+                + " scenarios for " + changedFiles.size() + " changed files (always including "
+                + String.join(", ", alwaysTags) + ")");
+        return selected.toArray(new Object[0][]);
+    }
+
+    private List<String> readChangedFiles() {
+        try {
+            return Files.readAllLines(changedFilesList).stream()
+                    .map(line -> line.trim().replace('\\', '/'))
+                    .map(line -> line.startsWith("./") ? line.substring(2) : line)
+                    .filter(line -> !line.isEmpty())
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the changed files list " + changedFilesList, e);
+        }
+    }
+
+    // Entries are path prefixes (e.g. docs/) or extensions (e.g. *.md)
+    private boolean isIgnored(String path) {
+        for (String ignored : ignoredPaths) {
+            if (ignored.startsWith("*") ? path.endsWith(ignored.substring(1)) : path.startsWith(ignored)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Path compiledClassesDirectory() {
+        try {
+            return Path.of(ImpactSelector.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to locate the compiled test classes", e);
+        }
+    }
+
+    private static List<String> splitList(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.saucedemo.runners;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ImpactSelector on an index filled by hand: narrowing the suite, and falling back to all of it
+ * whenever a change cannot be attributed to scenarios
+ */
+public class ImpactSelectorTest {
+    private static final String LOGIN_STEPS = "com.saucedemo.stepdefinitions.LoginSteps";
+    private static final String PERFORMANCE_STEPS = "com.saucedemo.stepdefinitions.PerformanceSteps";
+
+    private Path directory;
+    private Object[][] scenarios;
+    private ImpactIndex index;
+
+    @BeforeMethod
+    public void writeFeatureAndIndex() throws IOException {
+        directory = Files.createTempDirectory("impact-selector");
+        scenarios = TestScenarios.fromFeature(directory, """
+                Feature: Sample
+
+                  Scenario: Login
+                    Given step 1
+
+                  @smoke
+                  Scenario: Smoke
+                    Given step 2
+
+                  Scenario: Performance
+                    Given step 3
+                """);
+        // Index file that does not exist yet, nothing is dry-run because refresh() is not called
+        index = new ImpactIndex(directory.resolve("impact-index.properties").toString(),
+                directory.toString(), directory.resolve("classes"));
+        index.recordScenario(TestScenarios.key(scenarios[0]), Set.of(LOGIN_STEPS));
+        index.recordScenario(TestScenarios.key(scenarios[1]), Set.of(LOGIN_STEPS));
+        index.recordScenario(TestScenarios.key(scenarios[2]), Set.of(PERFORMANCE_STEPS));
+    }
+
+    @Test
+    public void changedGlueSelectsTheScenariosReachingIt() throws IOException {
+        Object[][] selected = selector("src/test/java/com/saucedemo/stepdefinitions/PerformanceSteps.java")
+                .select(scenarios);
+
+        // Performance reaches the change, Smoke is always run
+        Assert.assertEquals(names(selected), List.of("Smoke", "Performance"));
+    }
+
+    @Test
+    public void documentationOnlyChangeRunsJustTheAlwaysTags() throws IOException {
+        Object[][] selected = selector("README.md", "docs/sharding.md").select(scenarios);
+
+        Assert.assertEquals(names(selected), List.of("Smoke"));
+    }
+
+    @Test
+    public void buildOrConfigurationChangeRunsEveryScenario() throws IOException {
+        Assert.assertSame(selector("build.gradle").select(scenarios), scenarios);
+        Assert.assertSame(selector("src/test/resources/config/config.properties").select(scenarios), scenarios);
+    }
+
+    @Test
+    public void changedClassNotReachedFromTheGlueRunsEveryScenario() throws IOException {
+        Object[][] selected = selector("src/test/java/com/saucedemo/listeners/TestSuiteListener.java")
+                .select(scenarios);
+
+        Assert.assertSame(selected, scenarios);
+    }
+
+    @Test
+    public void scenariosMissingFromTheIndexAreKept() throws IOException {
+        ImpactIndex partialIndex = new ImpactIndex(directory.resolve("partial-index.properties").toString(),
+                directory.toString(), directory.resolve("classes"));
+        partialIndex.recordScenario(TestScenarios.key(scenarios[0]), Set.of(LOGIN_STEPS));
+        partialIndex.recordScenario(TestScenarios.key(scenarios[1]), Set.of(PERFORMANCE_STEPS));
+
+        Object[][] selected = selector(partialIndex, "src/test/java/com/saucedemo/stepdefinitions/LoginSteps.java")
+                .select(scenarios);
+
+        Assert.assertEquals(names(selected), List.of("Login", "Smoke", "Performance"));
+    }
+
+    private ImpactSelector selector(String... changedFiles) throws IOException {
+        return selector(index, changedFiles);
+    }
+
+    private ImpactSelector selector(ImpactIndex impactIndex, String... changedFiles) throws IOException {
+        Path changedFilesList = Files.write(directory.resolve("changed-files.txt"), List.of(changedFiles));
+        return new ImpactSelector(changedFilesList, List.of("@smoke"), List.of("*.md", "docs/"), impactIndex);
+    }
+
+    private static List<String> names(Object[][] rows) {
+        return Arrays.stream(rows).map(row -> TestScenarios.pickle(row).getName()).toList();
+    }
+}
@@ -0,0 +1,225 @@
+package com.saucedemo.runners;
+
+import com.saucedemo.utils.JsonUtil;
+import com.saucedemo.utils.LatencyHistogram;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Step latencies and iteration counts of a load test, bucketed into fixed time windows since the start.
+ * Throughput is completed scenarios per wall-clock minute, per window and over the whole run;
+ * scenario and step latency percentiles are reported separately.
+ * Virtual users record concurrently; each histogram is only locked for a single increment,
+ * which is negligible next to browser step latencies.
+ */
+public class LoadTestMetrics {
+    private static volatile LoadTestMetrics current;
+
+    private final long startNanos = System.nanoTime();
+    private final long windowMillis;
+    private final AtomicInteger activeUsers = new AtomicInteger();
+    private final Map<Long, Window> windows = new ConcurrentSkipListMap<>();
+
+    private static class Window {
+        final LongAdder iterations = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        // Scenario durations, from TestCaseStarted to TestCaseFinished
+        final LatencyHistogram scenarios = new LatencyHistogram();
+        final AtomicInteger peakUsers = new AtomicInteger();
+        final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    }
+
+    public LoadTestMetrics(long windowMillis) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("Load report window must be positive, got: " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+    }
+
+    // The metrics of the running load test, null outside load mode
+    public static LoadTestMetrics current() {
+        return current;
+    }
+
+    public static void setCurrent(LoadTestMetrics metrics) {
+        current = metrics;
+    }
+
+    public void userStarted() {
+        currentWindow().peakUsers.accumulateAndGet(activeUsers.incrementAndGet(), Math::max);
+    }
+
+    public void userStopped() {
+        activeUsers.decrementAndGet();
+    }
+
+    public void recordStep(String step, long durationMicros) {
+        LatencyHistogram histogram = currentWindow().steps.computeIfAbsent(step, k -> new LatencyHistogram());
+        synchronized (histogram) {
+            histogram.record(durationMicros);
+        }
+    }
+
+    public void recordIteration(boolean passed, long durationMicros) {
+        Window window = currentWindow();
+        window.iterations.increment();
+        synchronized (window.scenarios) {
+            window.scenarios.record(durationMicros);
+        }
+        if (!passed) {
+            window.failures.increment();
+        }
+        window.peakUsers.accumulateAndGet(activeUsers.get(), Math::max);
+    }
+
+    private Window currentWindow() {
+        long index = (System.nanoTime() - startNanos) / 1_000_000 / windowMillis;
+        return windows.computeIfAbsent(index, k -> new Window());
+    }
+
+    public long getIterations() {
+        return windows.values().stream().mapToLong(w -> w.iterations.sum()).sum();
+    }
+
+    public long getFailures() {
+        return windows.values().stream().mapToLong(w -> w.failures.sum()).sum();
+    }
+
+    // The last window is cut short by the end of the run
+    private double iterationsPerMinute(long index, Window window, long elapsedMillis) {
+        long lengthMillis = Math.min(windowMillis, elapsedMillis - index * windowMillis);
+        return window.iterations.sum() * 60_000.0 / Math.max(1, lengthMillis);
+    }
+
+    private double iterationsPerMinute(long elapsedMillis) {
+        return getIterations() * 60_000.0 / Math.max(1, elapsedMillis);
+    }
+
+    /**
+     * Throughput per window followed by step latency percentiles over the whole run
+     */
+    public String toTable(long elapsedMillis) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-13s %5s %10s %8s %12s%n", "Window", "VUs", "Iterations", "Failed", "Iter/min"));
+        windows.forEach((index, window) -> table.append(String.format("%-13s %5d %10d %8d %12.1f%n",
+                windowLabel(index), window.peakUsers.get(), window.iterations.sum(), window.failures.sum(),
+                iterationsPerMinute(index, window, elapsedMillis))));
+        table.append(String.format("Total: %d iterations, %d failed, %.1f iterations/min%n%n",
+                getIterations(), getFailures(), iterationsPerMinute(elapsedMillis)));
+
+        LatencyHistogram scenarios = mergedScenarios();
+        table.append(String.format("Scenario duration: p50 %.0f ms, p90 %.0f ms, p99 %.0f ms, max %.0f ms%n%n",
+                scenarios.getPercentileMillis(50), scenarios.getPercentileMillis(90),
+                scenarios.getPercentileMillis(99), scenarios.getMaxMillis()));
+
+        table.append(String.format("%-50s %7s %9s %9s %9s %9s%n", "Step", "Count", "p50 ms", "p90 ms", "p99 ms", "Max ms"));
+        mergedSteps().forEach((step, histogram) -> table.append(String.format("%-50s %7d %9.0f %9.0f %9.0f %9.0f%n",
+                step.length() > 50 ? step.substring(0, 47) + "..." : step, histogram.getCount(),
+                histogram.getPercentileMillis(50), histogram.getPercentileMillis(90),
+                histogram.getPercentileMillis(99), histogram.getMaxMillis())));
+        return table.toString();
+    }
+
+    public String toJson(long elapsedMillis) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"elapsedMillis\": ").append(elapsedMillis).append(",\n");
+        json.append("  \"windowMillis\": ").append(windowMillis).append(",\n");
+        json.append("  \"iterations\": ").append(getIterations()).append(",\n");
+        json.append("  \"failures\": ").append(getFailures()).append(",\n");
+        json.append("  \"iterationsPerMinute\": ")
+                .append(String.format(Locale.ROOT, "%.1f", iterationsPerMinute(elapsedMillis))).append(",\n");
+        json.append("  \"scenarioDuration\": ");
+        appendLatency(json, mergedScenarios());
+        json.append(",\n");
+        json.append("  \"steps\": ");
+        appendSteps(json, mergedSteps(), "  ");
+        json.append(",\n  \"windows\": [");
+        boolean first = true;
+        for (Map.Entry<Long, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            json.append("    {\"startMillis\": ").append(entry.getKey() * windowMillis)
+                    .append(", \"peakUsers\": ").append(window.peakUsers.get())
+                    .append(", \"iterations\": ").append(window.iterations.sum())
+                    .append(", \"failures\": ").append(window.failures.sum())
+                    .append(", \"iterationsPerMinute\": ")
+                    .append(String.format(Locale.ROOT, "%.1f", iterationsPerMinute(entry.getKey(), window, elapsedMillis)))
+                    .append(", \"steps\": ");
+            appendSteps(json, snapshot(window.steps), "    ");
+            json.append('}');
+        }
+        json.append(windows.isEmpty() ? "]\n" : "\n  ]\n");
+        return json.append('}').toString();
+    }
+
+    private static void appendSteps(StringBuilder json, Map<String, LatencyHistogram> steps, String indent) {
+        json.append('[');
+        boolean first = true;
+        for (Map.Entry<String, LatencyHistogram> entry : steps.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            json.append(first ? "\n" : ",\n").append(indent).append("  {\"step\": ").append(JsonUtil.quote(entry.getKey()))
+                    .append(", ");
+            appendLatencyFields(json, histogram);
+            json.append('}');
+            first = false;
+        }
+        json.append(steps.isEmpty() ? "]" : "\n" + indent + "]");
+    }
+
+    private static void appendLatency(StringBuilder json, LatencyHistogram histogram) {
+        json.append('{');
+        appendLatencyFields(json, histogram);
+        json.append('}');
+    }
+
+    private static void appendLatencyFields(StringBuilder json, LatencyHistogram histogram) {
+        json.append("\"count\": ").append(histogram.getCount())
+                .append(", \"p50Millis\": ").append(JsonUtil.millis(histogram.getPercentileMillis(50)))
+                .append(", \"p90Millis\": ").append(JsonUtil.millis(histogram.getPercentileMillis(90)))
+                .append(", \"p99Millis\": ").append(JsonUtil.millis(histogram.getPercentileMillis(99)))
+                .append(", \"maxMillis\": ").append(JsonUtil.millis(histogram.getMaxMillis()));
+    }
+
+    private LatencyHistogram mergedScenarios() {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (Window window : windows.values()) {
+            synchronized (window.scenarios) {
+                merged.merge(window.scenarios);
+            }
+        }
+        return merged;
+    }
+
+    private Map<String, LatencyHistogram> mergedSteps() {
+        Map<String, LatencyHistogram> merged = new TreeMap<>();
+        for (Window window : windows.values()) {
+            snapshot(window.steps).forEach((step, histogram) ->
+                    merged.computeIfAbsent(step, k -> new LatencyHistogram()).merge(histogram));
+        }
+        return merged;
+    }
+
+    // Copies taken under the recording lock, sorted by step text
+    private static Map<String, LatencyHistogram> snapshot(Map<String, LatencyHistogram> steps) {
+        Map<String, LatencyHistogram> copy = new TreeMap<>();
+        steps.forEach((step, histogram) -> {
+            LatencyHistogram histogramCopy = new LatencyHistogram();
+            synchronized (histogram) {
+                histogramCopy.merge(histogram);
+            }
+            copy.put(step, histogramCopy);
+        });
+        return copy;
+    }
+
+    private String windowLabel(long index) {
+        return (index * windowMillis / 1000) + "-" + ((index + 1) * windowMillis / 1000) + "s";
+    }
+}
@@ -0,0 +1,147 @@
+package com.saucedemo.runners;
+
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.LocalAppServer;
+import com.saucedemo.utils.WebDriverManager;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays Cucumber scenarios as concurrent headless virtual users, reusing the regular step definitions
+ * and page objects as a browser-level load driver. The Cucumber runtime (glue scan, feature parsing, plugins)
+ * is built once; each virtual user is a thread that runs the selected scenarios in a loop until
+ * load.duration.seconds have passed or it has completed load.iterations passes over them.
+ * Users start evenly spread over load.ramp.up.seconds. Run with ./gradlew loadTest -Dload.users=5 ...
+ */
+public class LoadTestRunner {
+    private static final String GLUE = "com.saucedemo.stepdefinitions";
+
+    public static void main(String[] args) throws Exception {
+        // Load mode defaults, set before any framework class reads its configuration
+        setDefault("headless", "true");
+        setDefault("take.screenshot.on.failure", "false");
+        setDefault("webdriver.latency.enabled", "false");
+        setDefault("performance.capture", "false");
+        setDefault("cucumber.publish.quiet", "true");
+
+        ConfigReader configReader = new ConfigReader();
+        int users = Integer.parseInt(configReader.getProperty("load.users", "5"));
+        long rampUpMillis = Long.parseLong(configReader.getProperty("load.ramp.up.seconds", "30")) * 1000;
+        long durationMillis = Long.parseLong(configReader.getProperty("load.duration.seconds", "120")) * 1000;
+        int iterations = Integer.parseInt(configReader.getProperty("load.iterations", "0"));
+        long windowMillis = Long.parseLong(configReader.getProperty("load.report.window.seconds", "10")) * 1000;
+        String reportPath = configReader.getProperty("load.report.path", "build/load-test/load-report.json");
+        // One browser session per virtual user
+        setDefault("driver.pool.size", String.valueOf(users));
+
+        TestNGCucumberRunner cucumber = new TestNGCucumberRunner(LoadTestRunner.class,
+                cucumberProperties(configReader)::get);
+        List<Pickle> scenarios = Arrays.stream(cucumber.provideScenarios())
+                .map(row -> ((PickleWrapper) row[0]).getPickle())
+                .toList();
+        if (scenarios.isEmpty()) {
+            throw new RuntimeException("Load test selected no scenarios, check load.features and load.tags");
+        }
+        System.out.println("Load test: " + users + " virtual user(s), ramp-up " + rampUpMillis / 1000 + "s, "
+                + (iterations > 0 ? iterations + " iteration(s) per user" : "duration " + durationMillis / 1000 + "s")
+                + ", " + scenarios.size() + " scenario(s) per iteration, target " + WebDriverManager.getApplicationUrl());
+
+        LoadTestMetrics metrics = new LoadTestMetrics(windowMillis);
+        LoadTestMetrics.setCurrent(metrics);
+        long startMillis = System.currentTimeMillis();
+        long deadlineMillis = startMillis + rampUpMillis + durationMillis;
+
+        List<Thread> virtualUsers = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            long startDelayMillis = users > 1 ? rampUpMillis * user / (users - 1) : 0;
+            virtualUsers.add(Thread.ofPlatform().name("vu-" + user).start(() ->
+                    runVirtualUser(cucumber, scenarios, metrics, startMillis + startDelayMillis, deadlineMillis, iterations)));
+        }
+        for (Thread virtualUser : virtualUsers) {
+            virtualUser.join();
+        }
+        long elapsedMillis = System.currentTimeMillis() - startMillis;
+
+        cucumber.finish();
+        WebDriverManager.shutdownDriverPool();
+        LocalAppServer.stop();
+        LoadTestMetrics.setCurrent(null);
+
+        System.out.println();
+        System.out.println(metrics.toTable(elapsedMillis));
+        writeReport(Path.of(reportPath), metrics.toJson(elapsedMillis));
+    }
+
+    private static void runVirtualUser(TestNGCucumberRunner cucumber, List<Pickle> scenarios, LoadTestMetrics metrics,
+                                       long startAtMillis, long deadlineMillis, int iterations) {
+        try {
+            Thread.sleep(Math.max(0, startAtMillis - System.currentTimeMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        metrics.userStarted();
+        try {
+            // With an iteration limit the duration is not enforced, otherwise the loop runs until the deadline
+            int completed = 0;
+            while (iterations > 0 ? completed < iterations : System.currentTimeMillis() < deadlineMillis) {
+                for (Pickle scenario : scenarios) {
+                    // Runs on the calling thread with its own glue instances, so each user keeps its own browser session
+                    try {
+                        cucumber.runScenario(scenario);
+                    } catch (RuntimeException e) {
+                        // Failed and skipped scenarios are already counted by LoadTestListener
+                    }
+                }
+                completed++;
+            }
+        } finally {
+            metrics.userStopped();
+        }
+    }
+
+    // Same options the command line used to pass; other cucumber.* system properties still apply
+    private static Map<String, String> cucumberProperties(ConfigReader configReader) {
+        Map<String, String> properties = new HashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("cucumber."))
+                .forEach(key -> properties.put(key, System.getProperty(key)));
+        properties.put("cucumber.glue", GLUE);
+        properties.put("cucumber.plugin", "com.saucedemo.listeners.LoadTestListener");
+        properties.put("cucumber.features",
+                configReader.getProperty("load.features", "src/test/resources/features/login.feature"));
+        String tags = configReader.getProperty("load.tags", "");
+        if (!tags.isEmpty()) {
+            properties.put("cucumber.filter.tags", tags);
+        }
+        return properties;
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void writeReport(Path reportFile, String json) {
+        try {
+            Path parent = reportFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.writeString(reportFile, json);
+            System.out.println("Load test report written to " + reportFile);
+        } catch (IOException e) {
+            System.err.println("Failed to write load test report: " + e.getMessage());
+        }
+    }
+}
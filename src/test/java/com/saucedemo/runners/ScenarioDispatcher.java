@@ -0,0 +1,104 @@
+package com.saucedemo.runners;
+
+import io.cucumber.testng.Pickle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * Runs Cucumber pickles concurrently, bounded by a configurable concurrency level.
+ * Scenarios are dispatched up front and TestNG only waits for each result,
+ * so scenario threads can be virtual threads that park cheaply while blocked on WebDriver calls.
+ * A fixed set of concurrency workers takes scenarios from a FIFO queue, so they start in dispatch order,
+ * e.g. the longest-first order from {@link DurationHistory}.
+ */
+public class ScenarioDispatcher {
+    private final Consumer<Pickle> scenarioRunner;
+    private final BlockingQueue<Task> pending = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<Pickle, CompletableFuture<Void>> results = new ConcurrentHashMap<>();
+    // Real execution window of each scenario, TestNG only sees how long it waited for the result
+    private final Map<Pickle, Timing> timings = new ConcurrentHashMap<>();
+
+    public record Timing(long startMillis, long endMillis) {
+    }
+
+    private record Task(Pickle pickle, CompletableFuture<Void> result) {
+    }
+
+    public ScenarioDispatcher(Consumer<Pickle> scenarioRunner, int concurrency, boolean useVirtualThreads) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Scenario concurrency must be at least 1, got: " + concurrency);
+        }
+        this.scenarioRunner = scenarioRunner;
+        ThreadFactory threadFactory = useVirtualThreads
+                ? Thread.ofVirtual().name("scenario-", 0).factory()
+                : Thread.ofPlatform().name("scenario-", 0).daemon(true).factory();
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = threadFactory.newThread(this::runPending);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public void dispatch(Pickle pickle) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        results.put(pickle, result);
+        pending.add(new Task(pickle, result));
+    }
+
+    private void runPending() {
+        while (true) {
+            Task task;
+            try {
+                task = pending.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            Pickle pickle = task.pickle();
+            CompletableFuture<Void> result = task.result();
+            long startMillis = System.currentTimeMillis();
+            try {
+                scenarioRunner.accept(pickle);
+                timings.put(pickle, new Timing(startMillis, System.currentTimeMillis()));
+                result.complete(null);
+            } catch (Throwable t) {
+                timings.put(pickle, new Timing(startMillis, System.currentTimeMillis()));
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    /**
+     * Block until the given pickle finishes and rethrow its failure unchanged,
+     * so TestNG still sees assertion errors and skip exceptions from the scenario.
+     */
+    public void awaitResult(Pickle pickle) throws Throwable {
+        CompletableFuture<Void> result = results.remove(pickle);
+        if (result == null) {
+            throw new IllegalStateException("Scenario was never dispatched: " + pickle.getName());
+        }
+        try {
+            result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Available once awaitResult has returned or thrown for the pickle
+    public Timing removeTiming(Pickle pickle) {
+        return timings.remove(pickle);
+    }
+
+    public void shutdown() {
+        workers.forEach(Thread::interrupt);
+    }
+}
@@ -0,0 +1,159 @@
+package com.saucedemo.runners;
+
+import io.cucumber.testng.Pickle;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * ScenarioDispatcher start order, concurrency bound and result reporting, with stand-in scenario runners
+ */
+public class ScenarioDispatcherTest {
+    private Object[][] scenarios;
+    private ScenarioDispatcher dispatcher;
+
+    @BeforeClass
+    public void writeFeature() throws IOException {
+        scenarios = TestScenarios.numbered(Files.createTempDirectory("scenario-dispatcher"), 6);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopDispatcher() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void scenariosStartInDispatchOrder() throws Throwable {
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        dispatcher = new ScenarioDispatcher(pickle -> started.add(pickle.getName()), 1, true);
+
+        // Reverse order, so the result cannot come from the feature order
+        List<String> dispatched = new ArrayList<>();
+        for (int i = scenarios.length - 1; i >= 0; i--) {
+            Pickle pickle = TestScenarios.pickle(scenarios[i]);
+            dispatcher.dispatch(pickle);
+            dispatched.add(pickle.getName());
+        }
+        awaitAll();
+
+        Assert.assertEquals(started, dispatched);
+    }
+
+    @Test
+    public void noMoreScenariosRunAtOnceThanTheConcurrency() throws Throwable {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        dispatcher = new ScenarioDispatcher(pickle -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+        }, 2, false);
+
+        dispatchAll();
+        awaitAll();
+
+        Assert.assertEquals(maxRunning.get(), 2);
+    }
+
+    @Test
+    public void scenarioFailureIsRethrownUnchanged() throws Throwable {
+        AssertionError failure = new AssertionError("Products page is not displayed");
+        Pickle failing = TestScenarios.pickle(scenarios[0]);
+        dispatcher = new ScenarioDispatcher(pickle -> {
+            if (pickle == failing) {
+                throw failure;
+            }
+        }, 2, true);
+
+        dispatchAll();
+
+        try {
+            dispatcher.awaitResult(failing);
+            Assert.fail("failure of the scenario was not reported");
+        } catch (AssertionError e) {
+            Assert.assertSame(e, failure);
+        }
+        Assert.assertNotNull(dispatcher.removeTiming(failing), "no timing recorded for the failed scenario");
+        // The other scenarios are unaffected
+        for (int i = 1; i < scenarios.length; i++) {
+            dispatcher.awaitResult(TestScenarios.pickle(scenarios[i]));
+        }
+    }
+
+    @Test
+    public void timingCoversTheScenarioRun() throws Throwable {
+        dispatcher = new ScenarioDispatcher(pickle -> sleep(100), 1, true);
+        Pickle pickle = TestScenarios.pickle(scenarios[0]);
+
+        dispatcher.dispatch(pickle);
+        dispatcher.awaitResult(pickle);
+        ScenarioDispatcher.Timing timing = dispatcher.removeTiming(pickle);
+
+        Assert.assertTrue(timing.endMillis() - timing.startMillis() >= 100, "timing too short: " + timing);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void awaitingAScenarioThatWasNeverDispatchedFails() throws Throwable {
+        dispatcher = new ScenarioDispatcher(pickle -> { }, 1, true);
+
+        dispatcher.awaitResult(TestScenarios.pickle(scenarios[0]));
+    }
+
+    @Test
+    public void shutdownStopsScenariosThatHaveNotStarted() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        Consumer<Pickle> blockingRunner = pickle -> {
+            started.add(pickle.getName());
+            firstStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        dispatcher = new ScenarioDispatcher(blockingRunner, 1, true);
+
+        dispatchAll();
+        Assert.assertTrue(firstStarted.await(5, TimeUnit.SECONDS), "first scenario never started");
+        dispatcher.shutdown();
+        release.countDown();
+        sleep(200);
+
+        Assert.assertEquals(started.size(), 1, "scenarios started after shutdown: " + started);
+    }
+
+    private void dispatchAll() {
+        for (Object[] row : scenarios) {
+            dispatcher.dispatch(TestScenarios.pickle(row));
+        }
+    }
+
+    private void awaitAll() throws Throwable {
+        for (Object[] row : scenarios) {
+            dispatcher.awaitResult(TestScenarios.pickle(row));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
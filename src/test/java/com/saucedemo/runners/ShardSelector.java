@@ -0,0 +1,181 @@
+package com.saucedemo.runners;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Splits the scenario list across CI machines without a coordinator.
+ * Every machine sorts the pickles by a location key that does not depend on the checkout path.
+ * By default every shard.count-th pickle starting at shard.index is kept.
+ * With shard.balance=duration, pickles are assigned longest first to the shard with the least expected work.
+ * Each machine computes the full plan and keeps its own part, so every shard must read identical durations.
+ * The plan therefore never uses the local history that each run updates. It uses a read-only history
+ * that CI supplies (shard.history.file), and every shard verifies that file against the SHA-256 passed to
+ * all of them (shard.history.checksum).
+ */
+public class ShardSelector {
+    private final int shardIndex;
+    private final int shardCount;
+    // Null when balancing by count
+    private final DurationHistory balanceHistory;
+
+    public ShardSelector(int shardIndex, int shardCount, DurationHistory balanceHistory) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(
+                    "Invalid shard configuration: index " + shardIndex + " of " + shardCount);
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        this.balanceHistory = balanceHistory;
+    }
+
+    /**
+     * Read shard.* system properties, falling back to SHARD_* environment variables
+     */
+    public static ShardSelector fromEnvironment() {
+        int index = Integer.parseInt(readSetting("shard.index", "SHARD_INDEX", "0"));
+        int count = Integer.parseInt(readSetting("shard.count", "SHARD_COUNT", "1"));
+        String balance = readSetting("shard.balance", "SHARD_BALANCE", "count");
+        if ("count".equalsIgnoreCase(balance) || count <= 1) {
+            return new ShardSelector(index, count, null);
+        }
+        if (!"duration".equalsIgnoreCase(balance)) {
+            throw new IllegalArgumentException("Unknown shard.balance '" + balance + "', expected count or duration");
+        }
+        return new ShardSelector(index, count, sharedHistory(
+                readSetting("shard.history.file", "SHARD_HISTORY_FILE", ""),
+                readSetting("shard.history.checksum", "SHARD_HISTORY_CHECKSUM", "")));
+    }
+
+    /**
+     * Load the history every shard balances by, after checking it is byte for byte the file CI distributed
+     */
+    static DurationHistory sharedHistory(String file, String expectedChecksum) {
+        if (file.isEmpty() || expectedChecksum.isEmpty()) {
+            throw new IllegalArgumentException("shard.balance=duration needs shard.history.file and "
+                    + "shard.history.checksum (SHA-256 of the file), so that every shard balances by the same durations");
+        }
+        String checksum;
+        try {
+            checksum = sha256(Files.readAllBytes(Path.of(file)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read shard duration history " + file, e);
+        }
+        System.out.println("Shard duration history " + file + " sha256 " + checksum);
+        if (!checksum.equalsIgnoreCase(expectedChecksum.trim())) {
+            throw new IllegalStateException("Shard duration history " + file + " has sha256 " + checksum
+                    + " but shard.history.checksum is " + expectedChecksum + ", shards would not agree on the split");
+        }
+        return new DurationHistory(file);
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // Output directory suffix so results from different shards can be merged later
+    public String getOutputDirectory(String baseDirectory) {
+        return isSharded() ? baseDirectory + "/shard-" + shardIndex : baseDirectory;
+    }
+
+    public Object[][] select(Object[][] scenarios) {
+        if (!isSharded()) {
+            return scenarios;
+        }
+
+        Object[][] sorted = scenarios.clone();
+        Arrays.sort(sorted, Comparator.comparing(row -> scenarioKey(((PickleWrapper) row[0]).getPickle())));
+
+        boolean byDuration = balanceHistory != null;
+        List<Object[]> selected = byDuration ? selectByDuration(sorted, balanceHistory) : selectByCount(sorted);
+
+        System.out.println("Shard " + shardIndex + " of " + shardCount + ": running "
+                + selected.size() + " of " + scenarios.length + " scenarios"
+                + (byDuration ? " (balanced by expected duration)" : ""));
+        return selected.toArray(new Object[0][]);
+    }
+
+    private List<Object[]> selectByCount(Object[][] sorted) {
+        List<Object[]> selected = new ArrayList<>();
+        for (int i = shardIndex; i < sorted.length; i += shardCount) {
+            selected.add(sorted[i]);
+        }
+        return selected;
+    }
+
+    // Greedy longest-processing-time assignment, every shard computes the full plan and keeps its own part
+    private List<Object[]> selectByDuration(Object[][] sorted, DurationHistory history) {
+        long[] shardLoad = new long[shardCount];
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : history.orderLongestFirst(sorted)) {
+            int target = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (shardLoad[shard] < shardLoad[target]) {
+                    target = shard;
+                }
+            }
+            shardLoad[target] += history.expectedMillis(row);
+            if (target == shardIndex) {
+                selected.add(row);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Location of the pickle relative to the project directory, e.g. src/test/resources/features/login.feature:10
+     */
+    public static String scenarioKey(Pickle pickle) {
+        return scenarioKey(pickle.getUri(), pickle.getLine());
+    }
+
+    public static String scenarioKey(URI featureUri, int line) {
+        String feature = "file".equals(featureUri.getScheme())
+                ? relativePath(Path.of(featureUri)) : featureUri.getSchemeSpecificPart();
+        return feature + ":" + line;
+    }
+
+    // Path relative to the project directory with forward slashes, as used in scenario keys
+    public static String relativePath(Path path) {
+        Path projectDir = Path.of(System.getProperty("user.dir")).toAbsolutePath();
+        Path absolute = path.toAbsolutePath().normalize();
+        Path relative = absolute.startsWith(projectDir) ? projectDir.relativize(absolute) : absolute;
+        return relative.toString().replace('\\', '/');
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    private static String readSetting(String propertyName, String envName, String defaultValue) {
+        String value = System.getProperty(propertyName);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(envName);
+        }
+        return (value == null || value.isEmpty()) ? defaultValue : value.trim();
+    }
+}
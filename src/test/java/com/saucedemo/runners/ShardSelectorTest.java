@@ -0,0 +1,134 @@
+package com.saucedemo.runners;
+
+import com.saucedemo.utils.SuiteMetrics;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ShardSelector splitting one scenario list the way every CI machine computes it
+ */
+public class ShardSelectorTest {
+    private static final int SHARDS = 3;
+
+    private Path directory;
+    private Object[][] scenarios;
+
+    @BeforeClass
+    public void writeFeature() throws IOException {
+        directory = Files.createTempDirectory("shard-selector");
+        scenarios = TestScenarios.numbered(directory, 7);
+    }
+
+    @Test
+    public void shardsByCountAreDisjointAndComplete() {
+        List<List<String>> shards = new ArrayList<>();
+        for (int index = 0; index < SHARDS; index++) {
+            shards.add(keys(new ShardSelector(index, SHARDS, null).select(scenarios)));
+        }
+
+        assertDisjointAndComplete(shards);
+        // By count the shard sizes differ by at most one
+        for (List<String> shard : shards) {
+            Assert.assertTrue(shard.size() == 2 || shard.size() == 3, "unbalanced shard: " + shards);
+        }
+    }
+
+    @Test
+    public void shardsByDurationAreDisjointAndComplete() {
+        DurationHistory history = new DurationHistory(
+                historyFile("history.properties", 40_000, 5_000, 5_000, 5_000, 5_000, 5_000, 5_000).toString());
+        List<List<String>> shards = new ArrayList<>();
+        for (int index = 0; index < SHARDS; index++) {
+            shards.add(keys(new ShardSelector(index, SHARDS, history).select(scenarios)));
+        }
+
+        assertDisjointAndComplete(shards);
+        // The 40 s scenario outweighs the six short ones, so it gets a shard of its own
+        Assert.assertTrue(shards.contains(List.of(TestScenarios.key(scenarios[0]))), "long scenario not alone: " + shards);
+    }
+
+    @Test
+    public void singleShardKeepsEveryScenario() {
+        Assert.assertSame(new ShardSelector(0, 1, null).select(scenarios), scenarios);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shardIndexOutsideTheCountIsRejected() {
+        new ShardSelector(3, 3, null);
+    }
+
+    @Test
+    public void sharedHistoryIsLoadedWhenTheChecksumMatches() throws IOException {
+        Path file = historyFile("shared-matching.properties", 1234);
+
+        DurationHistory history = ShardSelector.sharedHistory(file.toString(), sha256(Files.readAllBytes(file)));
+
+        Assert.assertEquals(history.expectedMillis(TestScenarios.key(scenarios[0])), 1234);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void sharedHistoryWithADifferentChecksumIsRejected() {
+        Path file = historyFile("shared-mismatch.properties", 1234);
+
+        ShardSelector.sharedHistory(file.toString(), sha256("another file".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void sharedHistoryWithoutAChecksumIsRejected() {
+        Path file = historyFile("shared-unchecked.properties", 1234);
+
+        ShardSelector.sharedHistory(file.toString(), "");
+    }
+
+    // History file holding the given durations for the first scenarios, written the way a run saves it
+    private Path historyFile(String name, long... millis) {
+        Path file = directory.resolve(name);
+        List<SuiteMetrics.ScenarioRecord> records = new ArrayList<>();
+        for (int i = 0; i < millis.length; i++) {
+            records.add(new SuiteMetrics.ScenarioRecord(TestScenarios.key(scenarios[i]), "Scenario " + (i + 1), List.of(),
+                    SuiteMetrics.Status.PASSED, 0, millis[i], 0));
+        }
+        new DurationHistory(file.toString()).update(records);
+        return file;
+    }
+
+    private void assertDisjointAndComplete(List<List<String>> shards) {
+        Set<String> seen = new HashSet<>();
+        for (List<String> shard : shards) {
+            for (String key : shard) {
+                Assert.assertTrue(seen.add(key), key + " selected by more than one shard: " + shards);
+            }
+        }
+        Set<String> all = new HashSet<>(keys(scenarios));
+        Assert.assertEquals(seen, all, "shards do not cover the suite: " + shards);
+    }
+
+    private static List<String> keys(Object[][] rows) {
+        List<String> keys = new ArrayList<>();
+        for (Object[] row : rows) {
+            keys.add(TestScenarios.key(row));
+        }
+        return keys;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.saucedemo.runners;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Scenario rows as CucumberTest's data provider returns them, read from a feature written by a unit test
+ */
+final class TestScenarios {
+
+    private TestScenarios() {
+    }
+
+    static Object[][] fromFeature(Path directory, String feature) throws IOException {
+        Files.writeString(directory.resolve("sample.feature"), feature);
+        Map<String, String> properties = Map.of(
+                "cucumber.features", directory.toString(),
+                "cucumber.publish.quiet", "true");
+        TestNGCucumberRunner runner = new TestNGCucumberRunner(TestScenarios.class, properties::get);
+        try {
+            return runner.provideScenarios();
+        } finally {
+            runner.finish();
+        }
+    }
+
+    // Feature with the given number of tagless scenarios, named "Scenario 1" to "Scenario <count>"
+    static Object[][] numbered(Path directory, int count) throws IOException {
+        StringBuilder feature = new StringBuilder("Feature: Sample\n");
+        for (int i = 1; i <= count; i++) {
+            feature.append("\n  Scenario: Scenario ").append(i).append("\n    Given step ").append(i).append('\n');
+        }
+        return fromFeature(directory, feature.toString());
+    }
+
+    static Pickle pickle(Object[] row) {
+        return ((PickleWrapper) row[0]).getPickle();
+    }
+
+    static String key(Object[] row) {
+        return ShardSelector.scenarioKey(pickle(row));
+    }
+}
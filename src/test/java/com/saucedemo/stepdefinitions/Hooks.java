@@ -0,0 +1,63 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.utils.BrowserLogCapture;
+import com.saucedemo.utils.ConfigReader;
+import com.saucedemo.utils.LatencyRecorder;
+import com.saucedemo.utils.PerformanceCollector;
+import com.saucedemo.utils.ScreenshotUtil;
+import com.saucedemo.utils.WebDriverManager;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import org.testng.SkipException;
+
+public class Hooks {
+    private static final ConfigReader configReader = new ConfigReader();
+    private static final boolean SCREENSHOT_ON_FAILURE =
+            Boolean.parseBoolean(configReader.getProperty("take.screenshot.on.failure", "true"));
+
+    // Runs first so no browser is leased for a scenario that cannot run here
+    @Before(value = "@htmlunit-incompatible", order = -10)
+    public void skipOnHtmlUnit(Scenario scenario) {
+        if (WebDriverManager.isHtmlUnit()) {
+            throw new SkipException("Scenario is tagged @htmlunit-incompatible: " + scenario.getName());
+        }
+    }
+
+    @Before(order = 0)
+    public void startLatencyRecording() {
+        LatencyRecorder.startScenario();
+        PerformanceCollector.reset();
+    }
+
+    // After hooks run from highest to lowest order, so this runs before the driver is released
+    @After(order = 100)
+    public void takeScreenshotOnFailure(Scenario scenario) {
+        if (SCREENSHOT_ON_FAILURE && scenario.isFailed() && WebDriverManager.hasDriver()) {
+            try {
+                ScreenshotUtil.attachScreenshotToAllure(WebDriverManager.getDriver(), scenario.getName());
+            } catch (Exception e) {
+                System.err.println("Failed to take screenshot: " + e.getMessage());
+            }
+        }
+    }
+
+    // Browser console and network events are only worth their attachment when something went wrong
+    @After(order = 90)
+    public void attachBrowserLogOnFailure(Scenario scenario) {
+        if (scenario.isFailed() && BrowserLogCapture.isEnabled() && WebDriverManager.hasDriver()) {
+            BrowserLogCapture.attachToAllure(WebDriverManager.getDriver(), scenario.getName());
+        }
+    }
+
+    @After(order = 50)
+    public void attachLatencyReport(Scenario scenario) {
+        LatencyRecorder.finishScenario(scenario.getName(), scenario.getId());
+    }
+
+    @After(order = 0)
+    public void releaseDriver() {
+        // Hand the browser back to the pool so the next scenario on any thread can reuse it
+        WebDriverManager.releaseDriver();
+    }
+}
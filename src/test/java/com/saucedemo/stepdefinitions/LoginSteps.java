@@ -2,14 +2,21 @@ package com.saucedemo.stepdefinitions;
 
 import com.saucedemo.pages.LoginPage;
 import com.saucedemo.pages.ProductsPage;
+import com.saucedemo.utils.AuthSessionCache;
+import com.saucedemo.utils.ConfigReader;
 import com.saucedemo.utils.WebDriverManager;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import io.qameta.allure.Step;
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 
+import java.net.URI;
+
 public class LoginSteps {
+    private static final ConfigReader configReader = new ConfigReader();
+
     private LoginPage loginPage;
     private ProductsPage productsPage;
 
@@ -27,6 +34,37 @@ public class LoginSteps {
         Assert.assertTrue(loginPage.isLoginPageDisplayed(), "Login page is not displayed. Current URL: " + WebDriverManager.getCurrentUrl());
     }
 
+    @Given("I am logged in as {string}")
+    @Step("Log in as {0}")
+    public void i_am_logged_in_as(String username) {
+        WebDriver driver = WebDriverManager.getDriver();
+        boolean restored = AuthSessionCache.loginAs(driver, username, () -> loginThroughUi(username));
+
+        if (restored) {
+            // Resolved against app.url the way a browser resolves a link, so "/inventory.html" or a full URL also work
+            URI inventoryUrl = URI.create(WebDriverManager.getApplicationUrl())
+                    .resolve(configReader.getProperty("app.inventory.path", "inventory.html"));
+            WebDriverManager.navigateToUrl(inventoryUrl.toString());
+            productsPage = new ProductsPage(driver);
+            if (!productsPage.isProductsPageDisplayed()) {
+                // Cached session was rejected by the server, fall back to a fresh UI login
+                System.out.println("Cached session for " + username + " is no longer valid, logging in again");
+                AuthSessionCache.invalidate(username);
+                AuthSessionCache.loginAs(driver, username, () -> loginThroughUi(username));
+            }
+        }
+        productsPage = new ProductsPage(driver);
+    }
+
+    private void loginThroughUi(String username) {
+        loginPage = new LoginPage(WebDriverManager.getDriverAndNavigate());
+        loginPage.enterUsername(username)
+                .enterPassword(configReader.getProperty("login.password"))
+                .clickLogin();
+        Assert.assertTrue(new ProductsPage(WebDriverManager.getDriver()).isProductsPageDisplayed(),
+                "Login as " + username + " did not reach the products page");
+    }
+
     @When("I enter username {string} and password {string}")
     @Step("Enter credentials - Username: {0}, Password: {1}")
     public void i_enter_username_and_password(String username, String password) {
@@ -0,0 +1,64 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.utils.AuthSessionCache;
+import com.saucedemo.utils.WebDriverManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * LoginSteps driven the way Cucumber calls them, on a browser=fake session leased from WebDriverManager
+ */
+public class LoginStepsTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseDriver() {
+        WebDriverManager.releaseDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void forgetCachedSession() {
+        AuthSessionCache.invalidate("standard_user");
+    }
+
+    @Test
+    public void validLoginReachesTheProductsPage() {
+        LoginSteps steps = new LoginSteps();
+
+        steps.i_am_on_the_login_page();
+        steps.i_enter_username_and_password("standard_user", "secret_sauce");
+        steps.i_click_on_login_button();
+        steps.i_should_be_redirected_to_products_page();
+        steps.i_should_see_as_page_title("Products");
+    }
+
+    @Test
+    public void lockedOutUserFailsTheRedirectCheck() {
+        LoginSteps steps = new LoginSteps();
+        steps.i_am_on_the_login_page();
+        steps.i_enter_username_and_password("locked_out_user", "secret_sauce");
+        steps.i_click_on_login_button();
+
+        try {
+            steps.i_should_be_redirected_to_products_page();
+            Assert.fail("redirect check passed for a locked out user");
+        } catch (AssertionError e) {
+            Assert.assertTrue(e.getMessage().contains("Products page is not displayed"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void secondLoginRestoresTheCachedSession() {
+        AuthSessionCache.invalidate("standard_user");
+        new LoginSteps().i_am_logged_in_as("standard_user");
+        WebDriverManager.releaseDriver();
+
+        // The pool resets the released session, so only the cached cookies can log this one in
+        LoginSteps steps = new LoginSteps();
+        steps.i_am_logged_in_as("standard_user");
+
+        Assert.assertTrue(WebDriverManager.getCurrentUrl().endsWith("/inventory.html"), WebDriverManager.getCurrentUrl());
+        steps.i_should_see_as_page_title("Products");
+    }
+}
@@ -0,0 +1,39 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.utils.PerformanceCollector;
+import io.cucumber.java.en.Then;
+import io.qameta.allure.Step;
+import org.testng.Assert;
+
+public class PerformanceSteps {
+
+    @Then("the {word} page should load within {int} ms")
+    @Step("Verify {0} page loaded within {1} ms")
+    public void the_page_should_load_within_ms(String page, int budgetMillis) {
+        PerformanceCollector.PageMetrics metrics = measuredLoad(page);
+        Assert.assertTrue(metrics.transitionMillis() <= budgetMillis,
+                "The " + page + " page took " + metrics.transitionMillis() + " ms to load, budget is "
+                        + budgetMillis + " ms (TTFB " + Math.round(metrics.ttfbMillis())
+                        + " ms, first contentful paint " + Math.round(metrics.firstContentfulPaintMillis())
+                        + " ms, " + metrics.resourceCount() + " resources)");
+    }
+
+    // Proves the budget check fails for a user known to be slow
+    @Then("the {word} page should exceed a {int} ms budget")
+    @Step("Verify {0} page exceeded a {1} ms budget")
+    public void the_page_should_exceed_a_ms_budget(String page, int budgetMillis) {
+        PerformanceCollector.PageMetrics metrics = measuredLoad(page);
+        Assert.assertTrue(metrics.transitionMillis() > budgetMillis,
+                "The " + page + " page took " + metrics.transitionMillis() + " ms to load, expected it to breach the "
+                        + budgetMillis + " ms budget");
+    }
+
+    private PerformanceCollector.PageMetrics measuredLoad(String page) {
+        Assert.assertTrue(PerformanceCollector.isEnabled(),
+                "Performance budgets need performance.capture=true");
+
+        PerformanceCollector.PageMetrics metrics = PerformanceCollector.getMetrics(page);
+        Assert.assertNotNull(metrics, "No load of the " + page + " page was measured in this scenario");
+        return metrics;
+    }
+}
@@ -0,0 +1,56 @@
+package com.saucedemo.stepdefinitions;
+
+import com.saucedemo.utils.PerformanceCollector;
+import com.saucedemo.utils.WebDriverManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * PerformanceSteps budget checks after a login through LoginSteps on a browser=fake session
+ */
+public class PerformanceStepsTest {
+    private final PerformanceSteps performanceSteps = new PerformanceSteps();
+
+    @BeforeMethod
+    public void logIn() {
+        // As the scenario hooks do, so only loads of this test are measured
+        PerformanceCollector.reset();
+        LoginSteps loginSteps = new LoginSteps();
+        loginSteps.i_am_on_the_login_page();
+        loginSteps.i_enter_username_and_password("standard_user", "secret_sauce");
+        loginSteps.i_click_on_login_button();
+        loginSteps.i_should_be_redirected_to_products_page();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseDriver() {
+        WebDriverManager.releaseDriver();
+    }
+
+    @Test
+    public void fastLoadIsWithinBudget() {
+        performanceSteps.the_page_should_load_within_ms("products", 3000);
+    }
+
+    @Test
+    public void fastLoadDoesNotBreachTheBudget() {
+        try {
+            performanceSteps.the_page_should_exceed_a_ms_budget("products", 3000);
+            Assert.fail("a fast load was reported as over budget");
+        } catch (AssertionError e) {
+            Assert.assertTrue(e.getMessage().contains("expected it to breach the 3000 ms budget"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void pageThatWasNotLoadedFailsTheBudgetCheck() {
+        try {
+            performanceSteps.the_page_should_load_within_ms("checkout", 3000);
+            Assert.fail("budget passed for a page that was not measured");
+        } catch (AssertionError e) {
+            Assert.assertTrue(e.getMessage().contains("No load of the checkout page"), e.getMessage());
+        }
+    }
+}
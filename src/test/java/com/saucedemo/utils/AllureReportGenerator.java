@@ -0,0 +1,232 @@
+package com.saucedemo.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Generates the static Allure report without holding up the end of the suite.
+ * Generation is incremental: a manifest of the result files already reported is kept next to the report.
+ * Only files that are new or changed since then are staged for allure generate, together with the previous
+ * report's history, so trend charts carry over. When nothing changed, generation is skipped.
+ * The report is built into a temporary directory by a background process and swapped in when complete,
+ * so the previous report stays usable meanwhile. Outside Windows the swap runs in a detached shell,
+ * which finishes even if the test JVM exits first.
+ */
+public class AllureReportGenerator {
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String STAGING_SUFFIX = ".staging";
+
+    private final Path resultsDir;
+    private final Path reportDir;
+    private final Path manifestFile;
+    private final Path stagingDir;
+
+    public AllureReportGenerator(String resultsDir, String reportDir) {
+        this.resultsDir = Path.of(resultsDir);
+        this.reportDir = Path.of(reportDir);
+        this.manifestFile = Path.of(reportDir + MANIFEST_SUFFIX);
+        this.stagingDir = Path.of(reportDir + STAGING_SUFFIX);
+    }
+
+    /**
+     * Start generating the report in the background.
+     * The returned future completes with true once the new report is in place,
+     * immediately if nothing changed since the last build, and with false on failure.
+     */
+    public CompletableFuture<Boolean> generateAsync() {
+        try {
+            Properties manifest = buildManifest();
+            if (manifest.isEmpty()) {
+                System.out.println("No Allure results found in " + resultsDir + ", skipping report generation");
+                return CompletableFuture.completedFuture(false);
+            }
+            // Without a report every result file is new
+            Properties reported = Files.exists(reportDir.resolve("index.html")) ? readManifest() : new Properties();
+            List<String> changed = new ArrayList<>();
+            for (String name : manifest.stringPropertyNames()) {
+                if (!manifest.getProperty(name).equals(reported.getProperty(name))) {
+                    changed.add(name);
+                }
+            }
+            if (changed.isEmpty()) {
+                System.out.println("Allure report is up to date, no new results since the last build");
+                return CompletableFuture.completedFuture(true);
+            }
+
+            stageResults(changed);
+            System.out.println("Generating Allure report from " + changed.size() + " new or changed of "
+                    + manifest.size() + " result files");
+            Path pendingManifest = Path.of(manifestFile + ".pending");
+            writeManifest(manifest, pendingManifest);
+
+            if (isWindows()) {
+                return startGeneration(pendingManifest);
+            }
+            return startDetachedGeneration(pendingManifest);
+        } catch (IOException e) {
+            System.err.println("Failed to generate Allure report: " + e.getMessage());
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    private CompletableFuture<Boolean> startDetachedGeneration(Path pendingManifest) throws IOException {
+        Path tempReportDir = Path.of(reportDir + ".tmp");
+        Path logFile = Path.of(reportDir + ".log");
+
+        // Generate, then swap the finished report in; runs to completion even if the JVM exits first
+        String script = "allure generate \"$1\" --clean -o \"$2\" > \"$5\" 2>&1"
+                + " && rm -rf \"$3\" && mv \"$2\" \"$3\" && mv \"$4\" \"$6\"";
+        ProcessBuilder processBuilder = new ProcessBuilder("sh", "-c", script, "sh",
+                stagingDir.toString(), tempReportDir.toString(), reportDir.toString(),
+                pendingManifest.toString(), logFile.toString(), manifestFile.toString());
+        processBuilder.redirectErrorStream(true);
+        processBuilder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+
+        Process process = processBuilder.start();
+        System.out.println("Generating Allure report in the background (log: " + logFile + ")");
+
+        return process.onExit().thenApply(finished -> reportOutcome(finished.exitValue(), logFile));
+    }
+
+    // Windows has no portable detached shell pipeline, so the swap runs in this JVM once allure exits
+    private CompletableFuture<Boolean> startGeneration(Path pendingManifest) throws IOException {
+        Path tempReportDir = Path.of(reportDir + ".tmp");
+        Path logFile = Path.of(reportDir + ".log");
+
+        ProcessBuilder processBuilder = new ProcessBuilder("cmd", "/c", "allure", "generate",
+                stagingDir.toString(), "--clean", "-o", tempReportDir.toString());
+        processBuilder.redirectErrorStream(true);
+        processBuilder.redirectOutput(logFile.toFile());
+
+        Process process = processBuilder.start();
+        System.out.println("Generating Allure report in the background (log: " + logFile + ")");
+
+        return process.onExit().thenApply(finished -> {
+            if (finished.exitValue() == 0) {
+                try {
+                    deleteRecursively(reportDir);
+                    Files.move(tempReportDir, reportDir);
+                    Files.move(pendingManifest, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    System.err.println("Failed to replace the Allure report: " + e.getMessage());
+                    return false;
+                }
+            }
+            return reportOutcome(finished.exitValue(), logFile);
+        });
+    }
+
+    private boolean reportOutcome(int exitCode, Path logFile) {
+        if (exitCode == 0) {
+            System.out.println("Allure report generated successfully at: " + reportDir);
+            return true;
+        }
+        System.err.println("Failed to generate Allure report (exit code: " + exitCode + "), see " + logFile);
+        return false;
+    }
+
+    /**
+     * Block until the report process finishes, used on CI/Docker where the report is published right after the run
+     */
+    public static void awaitCompletion(CompletableFuture<Boolean> generation, long timeoutSeconds) {
+        try {
+            generation.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Allure report was not ready within " + timeoutSeconds + "s: " + e.getMessage());
+        }
+    }
+
+    // File name -> size and modification time of every result file
+    private Properties buildManifest() throws IOException {
+        Properties manifest = new Properties();
+        if (!Files.isDirectory(resultsDir)) {
+            return manifest;
+        }
+        try (Stream<Path> files = Files.list(resultsDir)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                File f = file.toFile();
+                manifest.setProperty(f.getName(), f.length() + ":" + f.lastModified());
+            });
+        }
+        return manifest;
+    }
+
+    private Properties readManifest() {
+        Properties manifest = new Properties();
+        if (Files.exists(manifestFile)) {
+            try (InputStream in = Files.newInputStream(manifestFile)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                return new Properties();
+            }
+        }
+        return manifest;
+    }
+
+    private static void writeManifest(Properties manifest, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Properties sorted = new Properties();
+        new TreeMap<>(manifest).forEach(sorted::put);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            sorted.store(out, "Allure result files used for the last report");
+        }
+    }
+
+    /**
+     * Fill the staging directory with the changed result files and the previous report's history,
+     * which keeps Allure's trend charts across runs without processing old results again
+     */
+    private void stageResults(List<String> changed) throws IOException {
+        deleteRecursively(stagingDir);
+        Files.createDirectories(stagingDir);
+        for (String name : changed) {
+            Path source = resultsDir.resolve(name);
+            try {
+                // Attachments can be large, a link avoids copying them
+                Files.createLink(stagingDir.resolve(name), source);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(source, stagingDir.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Path history = reportDir.resolve("history");
+        if (!Files.isDirectory(history)) {
+            return;
+        }
+        Path target = stagingDir.resolve("history");
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(history)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static boolean isWindows() {
+        return System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+    }
+}
@@ -0,0 +1,111 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches the post-login browser state (cookies and localStorage) per user,
+ * so scenarios that only need an authenticated session can skip the UI login.
+ */
+public class AuthSessionCache {
+    private static final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    // One lock per user so parallel scenarios for the same user log in through the UI only once
+    private static final Map<String, ReentrantLock> loginLocks = new ConcurrentHashMap<>();
+
+    static final String READ_LOCAL_STORAGE_SCRIPT =
+            "var items = {};" +
+            "for (var i = 0; i < window.localStorage.length; i++) {" +
+            "  var key = window.localStorage.key(i);" +
+            "  items[key] = window.localStorage.getItem(key);" +
+            "}" +
+            "return items;";
+
+    static final String WRITE_LOCAL_STORAGE_SCRIPT =
+            "window.localStorage.clear();" +
+            "var items = arguments[0];" +
+            "for (var key in items) { window.localStorage.setItem(key, items[key]); }";
+
+    public record SessionState(Set<Cookie> cookies, Map<String, String> localStorage) {
+    }
+
+    /**
+     * Make the driver authenticated as the given user.
+     * Restores cached state when available, otherwise runs the UI login once and caches the result.
+     *
+     * @param uiLogin performs the UI login on the driver and verifies it succeeded
+     * @return true if the session was restored from the cache, false if the UI login ran
+     */
+    public static boolean loginAs(WebDriver driver, String username, Runnable uiLogin) {
+        SessionState cached = sessions.get(username);
+        if (cached != null) {
+            restore(driver, cached);
+            return true;
+        }
+
+        ReentrantLock lock = loginLocks.computeIfAbsent(username, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Another scenario may have logged this user in while we were waiting
+            cached = sessions.get(username);
+            if (cached != null) {
+                restore(driver, cached);
+                return true;
+            }
+            uiLogin.run();
+            sessions.put(username, capture(driver));
+            System.out.println("Cached authenticated session for user: " + username);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drop the cached state, e.g. when the server no longer accepts the session
+    public static void invalidate(String username) {
+        sessions.remove(username);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SessionState capture(WebDriver driver) {
+        Set<Cookie> cookies = driver.manage().getCookies();
+        Map<String, String> localStorage = new HashMap<>();
+        Object items = ((JavascriptExecutor) driver).executeScript(READ_LOCAL_STORAGE_SCRIPT);
+        if (items instanceof Map) {
+            ((Map<String, Object>) items).forEach((key, value) -> localStorage.put(key, String.valueOf(value)));
+        }
+        return new SessionState(Set.copyOf(cookies), Map.copyOf(localStorage));
+    }
+
+    private static void restore(WebDriver driver, SessionState state) {
+        String appUrl = WebDriverManager.getApplicationUrl();
+
+        // Cookies and localStorage can only be written once the browser is on the application origin
+        if (!isOnOrigin(driver, appUrl)) {
+            driver.get(appUrl);
+        }
+
+        for (Cookie cookie : state.cookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_LOCAL_STORAGE_SCRIPT, state.localStorage());
+    }
+
+    private static boolean isOnOrigin(WebDriver driver, String appUrl) {
+        try {
+            URI current = URI.create(driver.getCurrentUrl());
+            URI app = URI.create(appUrl);
+            return app.getScheme().equals(current.getScheme())
+                    && app.getAuthority().equals(current.getAuthority());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.saucedemo.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Streams browser console messages, JavaScript errors and network events of a session over WebDriver BiDi
+ * into a fixed-size ring buffer, enabled with browser.log.capture.
+ * The buffer is cleared whenever the session is leased for a scenario and only turned into an Allure attachment
+ * when the scenario fails, so passing scenarios pay for an array write per event and nothing else.
+ */
+public class BrowserLogCapture {
+    private static final ConfigReader configReader = new ConfigReader();
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(configReader.getProperty("browser.log.capture", "false"));
+    private static final int BUFFER_SIZE = Integer.parseInt(configReader.getProperty("browser.log.buffer.size", "300"));
+    private static final boolean CAPTURE_NETWORK =
+            Boolean.parseBoolean(configReader.getProperty("browser.log.network", "true"));
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    // Keyed by the session handed out by WebDriverManager; sessions the pool discards are collected with their buffer
+    private static final Map<WebDriver, LogBuffer> buffers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private record LogEntry(long timestampMillis, String kind, String text) {
+    }
+
+    /**
+     * Ring buffer that keeps the latest entries, older ones are overwritten and counted
+     */
+    public static final class LogBuffer {
+        private final LogEntry[] entries = new LogEntry[BUFFER_SIZE];
+        private int next;
+        private int size;
+        private long dropped;
+
+        synchronized void add(LogEntry entry) {
+            entries[next] = entry;
+            next = (next + 1) % entries.length;
+            if (size < entries.length) {
+                size++;
+            } else {
+                dropped++;
+            }
+        }
+
+        synchronized void clear() {
+            next = 0;
+            size = 0;
+            dropped = 0;
+        }
+
+        // Oldest first
+        synchronized List<LogEntry> snapshot() {
+            List<LogEntry> snapshot = new ArrayList<>(size);
+            int start = (next - size + entries.length) % entries.length;
+            for (int i = 0; i < size; i++) {
+                snapshot.add(entries[(start + i) % entries.length]);
+            }
+            return snapshot;
+        }
+
+        synchronized long getDropped() {
+            return dropped;
+        }
+    }
+
+    private BrowserLogCapture() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Subscribe to the events of a freshly created, undecorated session started with the webSocketUrl capability.
+     * Returns null when capture is off or the session has no BiDi connection.
+     */
+    public static LogBuffer subscribe(WebDriver driver) {
+        if (!ENABLED) {
+            return null;
+        }
+        WebDriver bidiDriver = asBiDi(driver);
+        if (bidiDriver == null) {
+            System.out.println("Browser log capture not supported by this session, no BiDi connection");
+            return null;
+        }
+
+        LogBuffer buffer = new LogBuffer();
+        try {
+            LogInspector logInspector = new LogInspector(bidiDriver);
+            logInspector.onConsoleEntry(entry -> buffer.add(new LogEntry(entry.getTimestamp(),
+                    "console." + entry.getLevel().toString().toLowerCase(), entry.getText())));
+            logInspector.onJavaScriptException(entry -> buffer.add(new LogEntry(entry.getTimestamp(),
+                    "javascript.error", entry.getText())));
+
+            if (CAPTURE_NETWORK) {
+                Network network = new Network(bidiDriver);
+                network.onResponseCompleted(response -> buffer.add(new LogEntry(response.getTimestamp(), "network",
+                        response.getRequest().getMethod() + " " + response.getResponseData().getUrl()
+                                + " -> " + response.getResponseData().getStatus()
+                                + (response.getResponseData().isFromCache() ? " (cache)" : ""))));
+                network.onFetchError(error -> buffer.add(new LogEntry(error.getTimestamp(), "network.error",
+                        error.getRequest().getMethod() + " " + error.getRequest().getUrl() + " -> " + error.getErrorText())));
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Failed to subscribe to browser log events: " + e.getMessage());
+            return null;
+        }
+        return buffer;
+    }
+
+    // Associate the buffer with the session as WebDriverManager hands it out, i.e. after decoration
+    public static void register(WebDriver driver, LogBuffer buffer) {
+        buffers.put(driver, buffer);
+    }
+
+    // Start the session's capture over for a new scenario
+    public static void clear(WebDriver driver) {
+        LogBuffer buffer = ENABLED ? buffers.get(driver) : null;
+        if (buffer != null) {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Attach the events captured since the session was leased, called for failed scenarios only
+     */
+    public static void attachToAllure(WebDriver driver, String scenarioName) {
+        LogBuffer buffer = ENABLED ? buffers.get(driver) : null;
+        if (buffer == null) {
+            return;
+        }
+        List<LogEntry> entries = buffer.snapshot();
+        StringBuilder log = new StringBuilder();
+        log.append(entries.size()).append(" browser event(s)");
+        if (buffer.getDropped() > 0) {
+            log.append(", ").append(buffer.getDropped()).append(" older event(s) dropped (browser.log.buffer.size=")
+                    .append(BUFFER_SIZE).append(')');
+        }
+        log.append('\n');
+        for (LogEntry entry : entries) {
+            log.append(TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestampMillis())))
+                    .append(" [").append(entry.kind()).append("] ").append(entry.text()).append('\n');
+        }
+        Allure.addAttachment("Browser log: " + scenarioName, "text/plain", log.toString(), ".log");
+    }
+
+    // Local drivers started with webSocketUrl implement HasBiDi directly, Grid sessions only after augmentation
+    private static WebDriver asBiDi(WebDriver driver) {
+        if (driver instanceof HasBiDi) {
+            return driver;
+        }
+        if (driver instanceof RemoteWebDriver) {
+            try {
+                WebDriver augmented = new Augmenter().augment(driver);
+                if (augmented instanceof HasBiDi) {
+                    return augmented;
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Could not augment remote session for BiDi: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+}
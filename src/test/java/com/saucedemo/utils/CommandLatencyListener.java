@@ -0,0 +1,43 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Times every call made through the decorated WebDriver and its elements and feeds {@link LatencyRecorder}
+ */
+public class CommandLatencyListener implements WebDriverListener {
+    // Calls can nest (e.g. a decorated Options object), so start times are kept on a per-thread stack
+    private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private static void finish(Object target, Method method) {
+        Long start = startTimes.get().poll();
+        if (start != null) {
+            LatencyRecorder.record(commandName(target, method), System.nanoTime() - start);
+        }
+    }
+
+    private static String commandName(Object target, Method method) {
+        return target instanceof WebElement ? "element." + method.getName() : method.getName();
+    }
+}
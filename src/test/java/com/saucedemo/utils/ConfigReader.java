@@ -19,8 +19,9 @@ public class ConfigReader {
         }
     }
 
+    // -Dkey=value system properties take precedence over config.properties
     public String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         if (value == null) {
             throw new RuntimeException("Property '" + key + "' not found in configuration file");
         }
@@ -28,7 +29,7 @@ public class ConfigReader {
     }
 
     public String getProperty(String key, String defaultValue) {
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         return (value != null) ? value.trim() : defaultValue;
     }
 }
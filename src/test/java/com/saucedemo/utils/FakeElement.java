@@ -0,0 +1,318 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Element of the scriptable DOM held by {@link FakeWebDriver}.
+ * Built with chained setters, e.g. {@code element("input").id("user-name").attribute("data-test", "username")}.
+ * Click handlers receive the driver and can change the DOM or navigate, like page scripts in a real browser.
+ */
+public class FakeElement implements WebElement {
+    private final String tagName;
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private final List<FakeElement> children = new ArrayList<>();
+    private FakeElement parent;
+    private String text = "";
+    private boolean visible = true;
+    private boolean enabled = true;
+    private Consumer<FakeWebDriver> clickHandler;
+
+    // Set when the page is rendered; elements of an older document are stale
+    private FakeWebDriver driver;
+    private long documentVersion;
+    private boolean removed;
+
+    private FakeElement(String tagName) {
+        this.tagName = tagName.toLowerCase();
+    }
+
+    public static FakeElement element(String tagName) {
+        return new FakeElement(tagName);
+    }
+
+    public FakeElement id(String id) {
+        return attribute("id", id);
+    }
+
+    public FakeElement className(String className) {
+        return attribute("class", className);
+    }
+
+    public FakeElement attribute(String name, String value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+        return this;
+    }
+
+    public FakeElement text(String text) {
+        this.text = text;
+        return this;
+    }
+
+    public FakeElement visible(boolean visible) {
+        this.visible = visible;
+        return this;
+    }
+
+    public FakeElement enabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public FakeElement onClick(Consumer<FakeWebDriver> handler) {
+        this.clickHandler = handler;
+        return this;
+    }
+
+    public FakeElement child(FakeElement... elements) {
+        for (FakeElement element : elements) {
+            element.parent = this;
+            element.removed = false;
+            if (driver != null) {
+                element.attach(driver, documentVersion);
+            }
+            children.add(element);
+        }
+        return this;
+    }
+
+    // Detach every child; references held by page objects go stale like in a real DOM
+    public FakeElement removeChildren() {
+        for (FakeElement element : children) {
+            element.markRemoved();
+        }
+        children.clear();
+        return this;
+    }
+
+    public List<FakeElement> getChildren() {
+        return List.copyOf(children);
+    }
+
+    public Set<String> getClassNames() {
+        String classes = attributes.getOrDefault("class", "").trim();
+        return classes.isEmpty() ? Set.of() : new LinkedHashSet<>(Arrays.asList(classes.split("\\s+")));
+    }
+
+    void attach(FakeWebDriver owner, long version) {
+        this.driver = owner;
+        this.documentVersion = version;
+        for (FakeElement element : children) {
+            element.attach(owner, version);
+        }
+    }
+
+    private void markRemoved() {
+        removed = true;
+        for (FakeElement element : children) {
+            element.markRemoved();
+        }
+    }
+
+    FakeElement getParent() {
+        return parent;
+    }
+
+    String getAttributeValue(String name) {
+        return attributes.get(name);
+    }
+
+    // Depth-first, document order, excluding this element
+    List<FakeElement> descendants() {
+        List<FakeElement> result = new ArrayList<>();
+        for (FakeElement element : children) {
+            result.add(element);
+            result.addAll(element.descendants());
+        }
+        return result;
+    }
+
+    private void checkAttached() {
+        if (removed || driver == null || !driver.isCurrentDocument(documentVersion)) {
+            throw new StaleElementReferenceException("Element <" + tagName + "> is no longer attached to the DOM");
+        }
+    }
+
+    @Override
+    public void click() {
+        checkAttached();
+        if (!isDisplayed() || !enabled) {
+            throw new ElementNotInteractableException("Element <" + tagName + "> is not interactable");
+        }
+        if (clickHandler != null) {
+            clickHandler.accept(driver);
+        }
+    }
+
+    @Override
+    public void submit() {
+        click();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        checkAttached();
+        if (!isDisplayed() || !enabled) {
+            throw new ElementNotInteractableException("Element <" + tagName + "> is not interactable");
+        }
+        StringBuilder value = new StringBuilder(attributes.getOrDefault("value", ""));
+        for (CharSequence keys : keysToSend) {
+            value.append(keys);
+        }
+        attributes.put("value", value.toString());
+    }
+
+    @Override
+    public void clear() {
+        checkAttached();
+        attributes.put("value", "");
+    }
+
+    @Override
+    public String getTagName() {
+        checkAttached();
+        return tagName;
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        checkAttached();
+        return attributes.get(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return getAttribute(name);
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        checkAttached();
+        return "textContent".equals(name) ? textContent() : attributes.get(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        checkAttached();
+        return attributes.containsKey("checked") || attributes.containsKey("selected");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        checkAttached();
+        return enabled;
+    }
+
+    // Visible text of the element and its visible descendants, one line per element with text
+    @Override
+    public String getText() {
+        checkAttached();
+        return isDisplayed() ? visibleText() : "";
+    }
+
+    String visibleText() {
+        List<String> lines = new ArrayList<>();
+        if (!text.isEmpty()) {
+            lines.add(text);
+        }
+        for (FakeElement element : children) {
+            if (element.visible) {
+                String childText = element.visibleText();
+                if (!childText.isEmpty()) {
+                    lines.add(childText);
+                }
+            }
+        }
+        return String.join("\n", lines).trim();
+    }
+
+    private String textContent() {
+        StringBuilder content = new StringBuilder(text);
+        for (FakeElement element : children) {
+            content.append(element.textContent());
+        }
+        return content.toString();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkAttached();
+        return new ArrayList<>(FakeSelector.of(by).findAll(this));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No element matching " + by + " inside <" + tagName + ">");
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        checkAttached();
+        for (FakeElement element = this; element != null; element = element.parent) {
+            if (!element.visible) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        checkAttached();
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return isDisplayed() ? new Dimension(100, 20) : new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        checkAttached();
+        if ("display".equals(propertyName)) {
+            return visible ? "block" : "none";
+        }
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedCommandException("The fake WebDriver does not render screenshots");
+    }
+
+    @Override
+    public String toString() {
+        return "FakeElement<" + tagName + attributes + ">";
+    }
+}
@@ -0,0 +1,137 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.Cookie;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.saucedemo.utils.FakeElement.element;
+
+/**
+ * SauceDemo model for {@link FakeWebDriver}, mirroring the behaviour of the bundled stand-in
+ * (src/test/resources/localapp): the same users, error messages, session cookie and element ids/classes.
+ * Paths are matched regardless of host, so it serves app.url as well as the local stand-in URL.
+ */
+public class FakeSauceDemo {
+    private static final String TITLE = "Swag Labs";
+    private static final String PASSWORD = "secret_sauce";
+    private static final List<String> USERS = List.of("standard_user", "locked_out_user", "problem_user",
+            "performance_glitch_user", "error_user", "visual_user");
+    private static final String SESSION_COOKIE = "session-username";
+    private static final long GLITCH_DELAY_MILLIS = 3000;
+
+    private record Product(int id, String name, String price) {
+    }
+
+    private static final List<Product> PRODUCTS = List.of(
+            new Product(4, "Sauce Labs Backpack", "$29.99"),
+            new Product(0, "Sauce Labs Bike Light", "$9.99"),
+            new Product(1, "Sauce Labs Bolt T-Shirt", "$15.99"),
+            new Product(5, "Sauce Labs Fleece Jacket", "$49.99"),
+            new Product(2, "Sauce Labs Onesie", "$7.99"),
+            new Product(3, "Test.allTheThings() T-Shirt (Red)", "$15.99"));
+
+    private FakeSauceDemo() {
+    }
+
+    public static FakeWebDriver createDriver() {
+        FakeWebDriver driver = new FakeWebDriver()
+                .route("/", FakeSauceDemo::loginPage)
+                .route("/index.html", FakeSauceDemo::loginPage)
+                .route("/inventory.html", FakeSauceDemo::inventoryPage);
+
+        // localStorage access used by AuthSessionCache
+        driver.onScript(AuthSessionCache.READ_LOCAL_STORAGE_SCRIPT, (d, args) -> Map.copyOf(d.getLocalStorage()));
+        driver.onScript(AuthSessionCache.WRITE_LOCAL_STORAGE_SCRIPT, (d, args) -> {
+            d.getLocalStorage().clear();
+            ((Map<?, ?>) args[0]).forEach((key, value) -> d.getLocalStorage().put(key.toString(), value.toString()));
+            return null;
+        });
+        // Storage reset of a session returned to WebDriverPool; the fake has no sessionStorage
+        driver.onScript(WebDriverPool.CLEAR_STORAGE_SCRIPT, (d, args) -> {
+            d.getLocalStorage().clear();
+            return null;
+        });
+        // No real page load happens, so only the elapsed transition time is meaningful
+        driver.onScript(PerformanceCollector.SCRIPT, (d, args) -> Map.of("url", d.getCurrentUrl(),
+                "ttfb", -1L, "domContentLoaded", -1L, "load", -1L, "firstPaint", -1L, "firstContentfulPaint", -1L,
+                "resourceCount", 0L, "transferBytes", 0L, "slowestResources", List.of()));
+        return driver;
+    }
+
+    private static FakeWebDriver.FakePage loginPage(FakeWebDriver driver) {
+        FakeElement username = element("input").id("user-name").attribute("data-test", "username")
+                .attribute("type", "text").attribute("value", "");
+        FakeElement password = element("input").id("password").attribute("data-test", "password")
+                .attribute("type", "password").attribute("value", "");
+        FakeElement errorContainer = element("div").className("error-message-container");
+        FakeElement loginButton = element("input").id("login-button").attribute("data-test", "login-button")
+                .attribute("type", "submit").attribute("value", "Login")
+                .onClick(d -> submitLogin(d, username.getAttribute("value"), password.getAttribute("value"),
+                        errorContainer));
+
+        FakeElement body = element("div").className("login_container").child(
+                element("div").className("login_logo").text(TITLE),
+                element("div").className("login_wrapper").child(
+                        element("form").id("login-form").className("login-box")
+                                .child(username, password, errorContainer, loginButton)));
+        return new FakeWebDriver.FakePage(TITLE, body);
+    }
+
+    private static void submitLogin(FakeWebDriver driver, String username, String password, FakeElement errorContainer) {
+        if (username.isEmpty()) {
+            showError(errorContainer, "Epic sadface: Username is required");
+        } else if (password.isEmpty()) {
+            showError(errorContainer, "Epic sadface: Password is required");
+        } else if (!USERS.contains(username) || !PASSWORD.equals(password)) {
+            showError(errorContainer, "Epic sadface: Username and password do not match any user in this service");
+        } else if ("locked_out_user".equals(username)) {
+            showError(errorContainer, "Epic sadface: Sorry, this user has been locked out.");
+        } else {
+            driver.manage().addCookie(new Cookie(SESSION_COOKIE, username, "/"));
+            if ("performance_glitch_user".equals(username)) {
+                // Same slow backend as the stand-in, so performance budgets can catch it
+                sleep(GLITCH_DELAY_MILLIS);
+            }
+            driver.navigateTo("inventory.html");
+        }
+    }
+
+    private static void showError(FakeElement errorContainer, String message) {
+        errorContainer.className("error-message-container error")
+                .removeChildren()
+                .child(element("h3").attribute("data-test", "error").text(message));
+    }
+
+    private static FakeWebDriver.FakePage inventoryPage(FakeWebDriver driver) {
+        if (driver.manage().getCookieNamed(SESSION_COOKIE) == null) {
+            driver.navigateTo("./");
+            return null;
+        }
+
+        FakeElement inventoryList = element("div").className("inventory_list").attribute("data-test", "inventory-list");
+        for (Product product : PRODUCTS) {
+            inventoryList.child(element("div").className("inventory_item").attribute("data-test", "inventory-item").child(
+                    element("div").className("inventory_item_name").id("item_" + product.id() + "_title_link")
+                            .attribute("data-test", "inventory-item-name").text(product.name()),
+                    element("div").className("inventory_item_price").attribute("data-test", "inventory-item-price")
+                            .text(product.price())));
+        }
+
+        FakeElement body = element("div").id("page_wrapper").className("page_wrapper").child(
+                element("div").className("header_container").attribute("data-test", "header-container").child(
+                        element("div").className("app_logo").text(TITLE),
+                        element("div").className("header_secondary_container").child(
+                                element("span").className("title").attribute("data-test", "title").text("Products"))),
+                element("div").id("inventory_container").className("inventory_container").child(inventoryList));
+        return new FakeWebDriver.FakePage(TITLE, body);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locator support for {@link FakeWebDriver}: id, name, class name, tag name and CSS selectors made of
+ * tag/#id/.class/[attribute] compounds joined by descendant combinators, with comma-separated alternatives.
+ * By has no public accessors, so the locator is read from its toString form, e.g. "By.id: user-name".
+ */
+class FakeSelector {
+    private static final Pattern BY_FORMAT = Pattern.compile("By\\.(\\w+): (.*)", Pattern.DOTALL);
+    private static final Pattern COMPOUND_PART = Pattern.compile(
+            "(#[\\w-]+)|(\\.[\\w-]+)|\\[([\\w-]+)(?:=[\"']?([^\"'\\]]*)[\"']?)?]|([\\w-]+|\\*)");
+
+    // Each alternative is a chain of compounds, the last one must match the element itself
+    private final List<List<Compound>> alternatives;
+
+    private record Compound(String tag, String id, List<String> classes, Map<String, String> attributes) {
+        boolean matches(FakeElement element) {
+            if (tag != null && !tag.equals(element.getTagName())) {
+                return false;
+            }
+            if (id != null && !id.equals(element.getAttributeValue("id"))) {
+                return false;
+            }
+            if (!element.getClassNames().containsAll(classes)) {
+                return false;
+            }
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                String value = element.getAttributeValue(attribute.getKey());
+                if (value == null || (attribute.getValue() != null && !attribute.getValue().equals(value))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private FakeSelector(List<List<Compound>> alternatives) {
+        this.alternatives = alternatives;
+    }
+
+    static FakeSelector of(By by) {
+        Matcher matcher = BY_FORMAT.matcher(by.toString());
+        if (!matcher.matches()) {
+            throw new InvalidSelectorException("Unsupported locator for the fake WebDriver: " + by);
+        }
+        String value = matcher.group(2).trim();
+        return switch (matcher.group(1)) {
+            case "id" -> css("[id=" + value + "]");
+            case "name" -> css("[name=" + value + "]");
+            case "className" -> css("." + value);
+            case "tagName" -> css(value);
+            case "cssSelector" -> css(value);
+            default -> throw new InvalidSelectorException("Unsupported locator for the fake WebDriver: " + by);
+        };
+    }
+
+    static FakeSelector css(String selector) {
+        List<List<Compound>> alternatives = new ArrayList<>();
+        for (String alternative : selector.split(",")) {
+            List<Compound> chain = new ArrayList<>();
+            for (String compound : alternative.trim().split("\\s+")) {
+                chain.add(parseCompound(compound, selector));
+            }
+            alternatives.add(chain);
+        }
+        return new FakeSelector(alternatives);
+    }
+
+    private static Compound parseCompound(String compound, String selector) {
+        String tag = null;
+        String id = null;
+        List<String> classes = new ArrayList<>();
+        Map<String, String> attributes = new LinkedHashMap<>();
+
+        Matcher matcher = COMPOUND_PART.matcher(compound);
+        int position = 0;
+        while (position < compound.length()) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                throw new InvalidSelectorException("Unsupported CSS selector for the fake WebDriver: " + selector);
+            }
+            if (matcher.group(1) != null) {
+                id = matcher.group(1).substring(1);
+            } else if (matcher.group(2) != null) {
+                classes.add(matcher.group(2).substring(1));
+            } else if (matcher.group(3) != null) {
+                attributes.put(matcher.group(3), matcher.group(4));
+            } else if (!"*".equals(matcher.group(5))) {
+                tag = matcher.group(5).toLowerCase();
+            }
+            position = matcher.end();
+        }
+        return new Compound(tag, id, classes, attributes);
+    }
+
+    // Matching descendants of the root in document order
+    List<FakeElement> findAll(FakeElement root) {
+        List<FakeElement> found = new ArrayList<>();
+        for (FakeElement element : root.descendants()) {
+            if (matches(element, root)) {
+                found.add(element);
+            }
+        }
+        return found;
+    }
+
+    private boolean matches(FakeElement element, FakeElement root) {
+        for (List<Compound> chain : alternatives) {
+            if (matchesChain(element, chain, chain.size() - 1, root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesChain(FakeElement element, List<Compound> chain, int index, FakeElement root) {
+        if (!chain.get(index).matches(element)) {
+            return false;
+        }
+        if (index == 0) {
+            return true;
+        }
+        for (FakeElement ancestor = element.getParent(); ancestor != null && ancestor != root; ancestor = ancestor.getParent()) {
+            if (matchesChain(ancestor, chain, index - 1, root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
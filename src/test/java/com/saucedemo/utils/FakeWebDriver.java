@@ -0,0 +1,438 @@
+package com.saucedemo.utils;
+
+import com.saucedemo.pages.DomSnapshot;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.logging.Logs;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.saucedemo.utils.FakeElement.element;
+
+/**
+ * In-memory WebDriver over a scriptable DOM of {@link FakeElement}s, selected with browser=fake.
+ * Pages are registered per URL path and rendered on every navigation, so elements from the previous page go stale.
+ * Scripts are answered by handlers registered for their exact source; {@link DomSnapshot#SCRIPT} is built in.
+ * Commands run in microseconds, which makes page objects and glue checkable without a browser.
+ */
+public final class FakeWebDriver implements WebDriver, JavascriptExecutor {
+    private static final String BLANK_URL = "about:blank";
+
+    public record FakePage(String title, FakeElement body) {
+    }
+
+    @FunctionalInterface
+    public interface ScriptHandler {
+        Object execute(FakeWebDriver driver, Object[] args);
+    }
+
+    private final Map<String, Function<FakeWebDriver, FakePage>> routes = new HashMap<>();
+    private final Map<String, ScriptHandler> scripts = new HashMap<>();
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final Map<String, String> localStorage = new LinkedHashMap<>();
+    private final String windowHandle = UUID.randomUUID().toString();
+    private final FakeOptions options = new FakeOptions();
+    private final List<String> history = new ArrayList<>();
+    private int historyIndex = -1;
+
+    private String currentUrl = BLANK_URL;
+    private FakePage page = new FakePage("", element("body"));
+    private FakeElement document;
+    private long documentVersion;
+    private boolean quit;
+
+    public FakeWebDriver() {
+        onScript(DomSnapshot.SCRIPT, (driver, args) -> driver.evaluateSnapshot(args[0]));
+        renderDocument();
+    }
+
+    /**
+     * Serve the page built by the factory for the given path, e.g. "/" or "/inventory.html"
+     */
+    public FakeWebDriver route(String path, Function<FakeWebDriver, FakePage> pageFactory) {
+        routes.put(path, pageFactory);
+        return this;
+    }
+
+    public FakeWebDriver onScript(String script, ScriptHandler handler) {
+        scripts.put(script, handler);
+        return this;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    boolean isCurrentDocument(long version) {
+        return !quit && version == documentVersion;
+    }
+
+    @Override
+    public void get(String url) {
+        checkSession();
+        String resolved = resolve(url);
+        while (history.size() > historyIndex + 1) {
+            history.remove(history.size() - 1);
+        }
+        history.add(resolved);
+        historyIndex++;
+        load(resolved);
+    }
+
+    /**
+     * Navigation triggered by the page itself, e.g. a redirect from a click handler
+     */
+    public void navigateTo(String url) {
+        get(url);
+    }
+
+    private void load(String url) {
+        currentUrl = url;
+        Function<FakeWebDriver, FakePage> pageFactory = BLANK_URL.equals(url) ? null : routes.get(pathOf(url));
+        int historyBefore = historyIndex;
+        FakePage rendered = pageFactory != null
+                ? pageFactory.apply(this)
+                : new FakePage(BLANK_URL.equals(url) ? "" : "404 Not Found", element("body"));
+        // The page factory may have redirected, in which case that navigation already rendered
+        if (historyBefore == historyIndex) {
+            page = rendered;
+            renderDocument();
+        }
+    }
+
+    private void renderDocument() {
+        documentVersion++;
+        document = element("html").child(page.body());
+        document.attach(this, documentVersion);
+    }
+
+    private String resolve(String url) {
+        if (BLANK_URL.equals(url)) {
+            return url;
+        }
+        return BLANK_URL.equals(currentUrl) ? URI.create(url).toString() : URI.create(currentUrl).resolve(url).toString();
+    }
+
+    private static String pathOf(String url) {
+        String path = URI.create(url).getPath();
+        return (path == null || path.isEmpty()) ? "/" : path;
+    }
+
+    // Cookies are scoped per origin only, paths and expiry are not modelled
+    private String origin() {
+        URI uri = URI.create(currentUrl);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkSession();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkSession();
+        return page.title();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkSession();
+        return new ArrayList<>(FakeSelector.of(by).findAll(document));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No element matching " + by + " on " + currentUrl);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkSession();
+        return "<html><head><title>" + page.title() + "</title></head><body>"
+                + document.visibleText() + "</body></html>";
+    }
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        quit = true;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of(getWindowHandle());
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkSession();
+        return windowHandle;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedCommandException("The fake WebDriver has a single window and no frames");
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new Navigation() {
+            @Override
+            public void back() {
+                checkSession();
+                if (historyIndex > 0) {
+                    load(history.get(--historyIndex));
+                }
+            }
+
+            @Override
+            public void forward() {
+                checkSession();
+                if (historyIndex < history.size() - 1) {
+                    load(history.get(++historyIndex));
+                }
+            }
+
+            @Override
+            public void to(String url) {
+                get(url);
+            }
+
+            @Override
+            public void to(URL url) {
+                get(url.toString());
+            }
+
+            @Override
+            public void refresh() {
+                checkSession();
+                load(currentUrl);
+            }
+        };
+    }
+
+    @Override
+    public Options manage() {
+        return options;
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkSession();
+        ScriptHandler handler = scripts.get(script);
+        if (handler == null) {
+            String preview = script.length() > 80 ? script.substring(0, 80) + "..." : script;
+            throw new UnsupportedCommandException("The fake WebDriver has no handler for script: " + preview);
+        }
+        return handler.execute(this, args);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+
+    private void checkSession() {
+        if (quit) {
+            throw new NoSuchSessionException("The fake WebDriver session has been quit");
+        }
+    }
+
+    // Same result shape as DomSnapshot.SCRIPT returns from a real browser
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> evaluateSnapshot(Object fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map<String, String> field : (List<Map<String, String>>) fields) {
+            List<FakeElement> matches = FakeSelector.css(field.get("selector")).findAll(document);
+            FakeElement first = matches.isEmpty() ? null : matches.get(0);
+            String name = field.get("name");
+            switch (field.get("kind")) {
+                case "text" -> result.put(name, first != null && first.isDisplayed() ? first.visibleText() : null);
+                case "visible" -> result.put(name, first != null && first.isDisplayed());
+                case "attribute" -> result.put(name, first != null ? first.getAttributeValue(field.get("attribute")) : null);
+                case "texts" -> result.put(name, matches.stream().map(FakeElement::visibleText).toList());
+                case "count" -> result.put(name, (long) matches.size());
+                default -> throw new IllegalArgumentException("Unknown snapshot field kind: " + field.get("kind"));
+            }
+        }
+        return result;
+    }
+
+    private class FakeOptions implements Options {
+        private Duration implicitWait = Duration.ZERO;
+        private Duration pageLoadTimeout = Duration.ofSeconds(300);
+        private Duration scriptTimeout = Duration.ofSeconds(30);
+        private Point position = new Point(0, 0);
+        private Dimension size = new Dimension(1920, 1080);
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            checkSession();
+            cookies.put(origin() + "|" + cookie.getName(), cookie);
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            checkSession();
+            cookies.remove(origin() + "|" + name);
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            deleteCookieNamed(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            checkSession();
+            String prefix = origin() + "|";
+            cookies.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            checkSession();
+            String prefix = origin() + "|";
+            Set<Cookie> visible = new LinkedHashSet<>();
+            cookies.forEach((key, cookie) -> {
+                if (key.startsWith(prefix)) {
+                    visible.add(cookie);
+                }
+            });
+            return visible;
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            checkSession();
+            return cookies.get(origin() + "|" + name);
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new Timeouts() {
+                @Override
+                @SuppressWarnings("deprecation")
+                public Timeouts implicitlyWait(long time, java.util.concurrent.TimeUnit unit) {
+                    return implicitlyWait(Duration.ofMillis(unit.toMillis(time)));
+                }
+
+                @Override
+                public Timeouts implicitlyWait(Duration duration) {
+                    implicitWait = duration;
+                    return this;
+                }
+
+                @Override
+                public Duration getImplicitWaitTimeout() {
+                    return implicitWait;
+                }
+
+                @Override
+                @SuppressWarnings("deprecation")
+                public Timeouts setScriptTimeout(long time, java.util.concurrent.TimeUnit unit) {
+                    return scriptTimeout(Duration.ofMillis(unit.toMillis(time)));
+                }
+
+                @Override
+                public Timeouts scriptTimeout(Duration duration) {
+                    scriptTimeout = duration;
+                    return this;
+                }
+
+                @Override
+                public Duration getScriptTimeout() {
+                    return scriptTimeout;
+                }
+
+                @Override
+                @SuppressWarnings("deprecation")
+                public Timeouts pageLoadTimeout(long time, java.util.concurrent.TimeUnit unit) {
+                    return pageLoadTimeout(Duration.ofMillis(unit.toMillis(time)));
+                }
+
+                @Override
+                public Timeouts pageLoadTimeout(Duration duration) {
+                    pageLoadTimeout = duration;
+                    return this;
+                }
+
+                @Override
+                public Duration getPageLoadTimeout() {
+                    return pageLoadTimeout;
+                }
+            };
+        }
+
+        @Override
+        public Window window() {
+            return new Window() {
+                @Override
+                public Dimension getSize() {
+                    return size;
+                }
+
+                @Override
+                public void setSize(Dimension targetSize) {
+                    size = targetSize;
+                }
+
+                @Override
+                public Point getPosition() {
+                    return position;
+                }
+
+                @Override
+                public void setPosition(Point targetPosition) {
+                    position = targetPosition;
+                }
+
+                @Override
+                public void maximize() {
+                }
+
+                @Override
+                public void minimize() {
+                }
+
+                @Override
+                public void fullscreen() {
+                }
+            };
+        }
+
+        @Override
+        public Logs logs() {
+            throw new UnsupportedCommandException("The fake WebDriver has no browser logs");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.saucedemo.utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Quick, cached check whether a Selenium Grid is up and ready to accept sessions.
+ * Asks the grid's /status endpoint with a short timeout instead of attempting a full session,
+ * and remembers the answer for the life of the JVM or for grid.probe.ttl.seconds.
+ */
+public class GridProbe {
+    private static final ConfigReader configReader = new ConfigReader();
+    private static final Duration TIMEOUT =
+            Duration.ofMillis(Long.parseLong(configReader.getProperty("grid.probe.timeout.ms", "500")));
+    // Negative means the result is kept for the life of the JVM
+    private static final long TTL_MILLIS =
+            Long.parseLong(configReader.getProperty("grid.probe.ttl.seconds", "-1")) * 1000;
+    private static final Pattern READY = Pattern.compile("\"ready\"\\s*:\\s*true");
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+    private static final Map<String, ProbeResult> results = new ConcurrentHashMap<>();
+
+    private record ProbeResult(boolean available, long checkedAtMillis) {
+        boolean isExpired() {
+            return TTL_MILLIS >= 0 && System.currentTimeMillis() - checkedAtMillis > TTL_MILLIS;
+        }
+    }
+
+    public static boolean isAvailable(String gridUrl) {
+        ProbeResult result = results.get(gridUrl);
+        if (result == null || result.isExpired()) {
+            // Concurrent callers may probe at the same time, which is harmless and avoids holding a lock over I/O
+            result = new ProbeResult(probe(gridUrl), System.currentTimeMillis());
+            results.put(gridUrl, result);
+        }
+        return result.available();
+    }
+
+    // Forget the cached answer, e.g. after a session could not be created despite a positive probe
+    public static void invalidate(String gridUrl) {
+        results.remove(gridUrl);
+    }
+
+    private static boolean probe(String gridUrl) {
+        long start = System.nanoTime();
+        boolean available;
+        try {
+            String statusUrl = gridUrl.endsWith("/") ? gridUrl + "status" : gridUrl + "/status";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(statusUrl))
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            available = response.statusCode() == 200 && READY.matcher(response.body()).find();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            available = false;
+        } catch (Exception e) {
+            available = false;
+        }
+        System.out.println("Selenium Grid at " + gridUrl + (available ? " is ready" : " is not available")
+                + " (probe took " + (System.nanoTime() - start) / 1_000_000 + " ms)");
+        return available;
+    }
+}
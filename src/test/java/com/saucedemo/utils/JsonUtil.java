@@ -0,0 +1,37 @@
+package com.saucedemo.utils;
+
+/**
+ * Minimal helpers for the small machine-readable reports the framework writes
+ */
+public class JsonUtil {
+
+    public static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    // Milliseconds with microsecond precision, without locale-specific separators
+    public static String millis(double value) {
+        return String.format(java.util.Locale.ROOT, "%.3f", value);
+    }
+}
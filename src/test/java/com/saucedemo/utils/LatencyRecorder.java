@@ -0,0 +1,123 @@
+package com.saucedemo.utils;
+
+import io.qameta.allure.Allure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Per-thread WebDriver command latency histograms for the running scenario.
+ * Each sample is keyed by command, the page object method that issued it and the current Gherkin step,
+ * so recording never contends across threads and the report shows where scenario time goes.
+ */
+public class LatencyRecorder {
+    private static final ConfigReader configReader = new ConfigReader();
+    private static final String OUTPUT_DIR = configReader.getProperty("webdriver.latency.path", "build/webdriver-latency");
+    private static final String NO_CONTEXT = "-";
+
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final ThreadLocal<Map<SampleKey, LatencyHistogram>> histograms = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<String> currentStep = ThreadLocal.withInitial(() -> NO_CONTEXT);
+
+    private record SampleKey(String command, String pageMethod, String step) {
+    }
+
+    public static void setCurrentStep(String stepText) {
+        currentStep.set(stepText != null ? stepText : NO_CONTEXT);
+    }
+
+    public static void clearCurrentStep() {
+        currentStep.set(NO_CONTEXT);
+    }
+
+    public static void record(String command, long elapsedNanos) {
+        SampleKey key = new SampleKey(command, callingPageMethod(), currentStep.get());
+        histograms.get().computeIfAbsent(key, k -> new LatencyHistogram()).record(elapsedNanos / 1_000);
+    }
+
+    // Drop samples from before the scenario, e.g. pool health checks on this thread
+    public static void startScenario() {
+        histograms.get().clear();
+        clearCurrentStep();
+    }
+
+    /**
+     * Attach the scenario's latency report to Allure, write it as JSON and reset the thread's histograms
+     */
+    public static void finishScenario(String scenarioName, String scenarioId) {
+        Map<SampleKey, LatencyHistogram> samples = histograms.get();
+        if (samples.isEmpty()) {
+            return;
+        }
+        String json = toJson(scenarioName, samples);
+        samples.clear();
+        clearCurrentStep();
+
+        Allure.addAttachment("WebDriver command latency", "application/json", json, ".json");
+        try {
+            Path dir = Path.of(OUTPUT_DIR);
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve(Integer.toHexString(scenarioId.hashCode()) + ".json"), json);
+        } catch (IOException e) {
+            System.err.println("Failed to write WebDriver latency report: " + e.getMessage());
+        }
+    }
+
+    // First page object frame on the stack, e.g. LoginPage.enterUsername
+    private static String callingPageMethod() {
+        Optional<StackWalker.StackFrame> frame = stackWalker.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.saucedemo.pages.")
+                        && !f.getClassName().startsWith("com.saucedemo.pages.BasePage")
+                        && !f.getClassName().contains("$"))
+                .findFirst());
+        return frame.map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                + "." + f.getMethodName()).orElse(NO_CONTEXT);
+    }
+
+    private static String toJson(String scenarioName, Map<SampleKey, LatencyHistogram> samples) {
+        Map<String, LatencyHistogram> byCommand = new TreeMap<>();
+        samples.forEach((key, histogram) ->
+                byCommand.computeIfAbsent(key.command(), k -> new LatencyHistogram()).merge(histogram));
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"scenario\": ").append(JsonUtil.quote(scenarioName)).append(",\n");
+        json.append("  \"commands\": [");
+        String separator = "\n";
+        for (Map.Entry<String, LatencyHistogram> entry : byCommand.entrySet()) {
+            json.append(separator).append("    {\"command\": ").append(JsonUtil.quote(entry.getKey()))
+                    .append(", ").append(statsJson(entry.getValue())).append("}");
+            separator = ",\n";
+        }
+        json.append("\n  ],\n  \"breakdown\": [");
+        separator = "\n";
+        List<Map.Entry<SampleKey, LatencyHistogram>> entries = samples.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(
+                        (a, b) -> Double.compare(b.getMeanMillis() * b.getCount(), a.getMeanMillis() * a.getCount())))
+                .toList();
+        for (Map.Entry<SampleKey, LatencyHistogram> entry : entries) {
+            SampleKey key = entry.getKey();
+            json.append(separator)
+                    .append("    {\"command\": ").append(JsonUtil.quote(key.command()))
+                    .append(", \"pageMethod\": ").append(JsonUtil.quote(key.pageMethod()))
+                    .append(", \"step\": ").append(JsonUtil.quote(key.step()))
+                    .append(", ").append(statsJson(entry.getValue())).append("}");
+            separator = ",\n";
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    private static String statsJson(LatencyHistogram histogram) {
+        return "\"count\": " + histogram.getCount()
+                + ", \"p50Ms\": " + JsonUtil.millis(histogram.getPercentileMillis(50))
+                + ", \"p95Ms\": " + JsonUtil.millis(histogram.getPercentileMillis(95))
+                + ", \"p99Ms\": " + JsonUtil.millis(histogram.getPercentileMillis(99))
+                + ", \"maxMs\": " + JsonUtil.millis(histogram.getMaxMillis());
+    }
+}
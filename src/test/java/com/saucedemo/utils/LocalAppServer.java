@@ -0,0 +1,115 @@
+package com.saucedemo.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server serving a versioned snapshot of the SauceDemo pages from the test classpath.
+ * Enabled with app.target=local so runs do not depend on the public site or internet access.
+ */
+public class LocalAppServer {
+    private static final ConfigReader configReader = new ConfigReader();
+    private static final String RESOURCE_ROOT = "localapp/";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "text/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "png", "image/png",
+            "svg", "image/svg+xml",
+            "ico", "image/x-icon"
+    );
+
+    private static HttpServer server;
+    private static String baseUrl;
+    // Pages are small, so every resource is read from the classpath once and served from memory
+    private static final Map<String, byte[]> resourceCache = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return "local".equalsIgnoreCase(configReader.getProperty("app.target", "remote"));
+    }
+
+    /**
+     * Start the server if it is not running yet and return its base URL, ending with a slash
+     */
+    public static synchronized String start() {
+        if (server != null) {
+            return baseUrl;
+        }
+
+        String version = configReader.getProperty("local.app.version", "v1");
+        String host = configReader.getProperty("local.app.host", "localhost");
+        int port = Integer.parseInt(configReader.getProperty("local.app.port", "0"));
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start local app server on port " + port, e);
+        }
+        server.createContext("/", exchange -> handle(exchange, RESOURCE_ROOT + version));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        baseUrl = "http://" + host + ":" + server.getAddress().getPort() + "/";
+        System.out.println("Local SauceDemo stand-in (" + version + ") running at: " + baseUrl);
+        Runtime.getRuntime().addShutdownHook(new Thread(LocalAppServer::stop));
+        return baseUrl;
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            baseUrl = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange, String versionRoot) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.endsWith("/")) {
+                path = path + "index.html";
+            }
+
+            byte[] body = path.contains("..") ? null : readResource(versionRoot + path);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", contentType(path));
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] readResource(String resourcePath) throws IOException {
+        byte[] cached = resourceCache.get(resourcePath);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream in = LocalAppServer.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                return null;
+            }
+            byte[] body = in.readAllBytes();
+            resourceCache.put(resourcePath, body);
+            return body;
+        }
+    }
+
+    private static String contentType(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+}
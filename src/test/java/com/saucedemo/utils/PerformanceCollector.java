@@ -0,0 +1,151 @@
+package com.saucedemo.utils;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page load metrics for the running scenario, used for performance budgets in Gherkin.
+ * A transition starts at a navigation or at an action that leaves the page (e.g. the login click)
+ * and ends when the target page object confirms it is displayed. At that point the elapsed time is recorded
+ * together with the browser's Navigation Timing, paint and Resource Timing entries, read in one script call.
+ * Pages that are confirmed without an open transition cost nothing.
+ */
+public class PerformanceCollector {
+    private static final ConfigReader configReader = new ConfigReader();
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(configReader.getProperty("performance.capture", "true"));
+    private static final int SLOWEST_RESOURCES = 5;
+
+    static final String SCRIPT = """
+            const nav = performance.getEntriesByType('navigation')[0];
+            const paint = {};
+            performance.getEntriesByType('paint').forEach(p => paint[p.name] = p.startTime);
+            const resources = performance.getEntriesByType('resource');
+            let transferBytes = 0;
+            resources.forEach(r => transferBytes += r.transferSize || 0);
+            const slowest = resources.slice().sort((a, b) => b.duration - a.duration)
+                .slice(0, arguments[0]).map(r => ({name: r.name, duration: r.duration}));
+            return {
+                url: location.href,
+                ttfb: nav ? nav.responseStart - nav.startTime : -1,
+                domContentLoaded: nav ? nav.domContentLoadedEventEnd - nav.startTime : -1,
+                load: nav ? nav.loadEventEnd - nav.startTime : -1,
+                firstPaint: 'first-paint' in paint ? paint['first-paint'] : -1,
+                firstContentfulPaint: 'first-contentful-paint' in paint ? paint['first-contentful-paint'] : -1,
+                resourceCount: resources.length,
+                transferBytes: transferBytes,
+                slowestResources: slowest
+            };""";
+
+    private static final ThreadLocal<Long> transitionStartNanos = new ThreadLocal<>();
+    private static final ThreadLocal<Map<String, PageMetrics>> pageMetrics = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Browser timings are relative to the document's navigation start, -1 when the browser does not report them
+     */
+    public record PageMetrics(String page, String url, long transitionMillis,
+                              double ttfbMillis, double domContentLoadedMillis, double loadMillis,
+                              double firstPaintMillis, double firstContentfulPaintMillis,
+                              long resourceCount, long transferBytes, List<ResourceTiming> slowestResources) {
+    }
+
+    public record ResourceTiming(String name, double durationMillis) {
+    }
+
+    // Mark the start of a navigation or page transition on this thread
+    public static void startTransition() {
+        if (ENABLED) {
+            transitionStartNanos.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * Close the open transition, if any, as a load of the given page and attach its metrics to Allure
+     */
+    public static void completeTransition(WebDriver driver, String page) {
+        Long startNanos = transitionStartNanos.get();
+        if (startNanos == null) {
+            return;
+        }
+        transitionStartNanos.remove();
+        long transitionMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        PageMetrics metrics;
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeScript(SCRIPT, SLOWEST_RESOURCES);
+            metrics = toMetrics(page, transitionMillis, raw);
+        } catch (RuntimeException e) {
+            // Browser without the Performance API, keep the elapsed time so budgets still work
+            System.out.println("Could not read browser performance entries: " + e.getMessage());
+            metrics = new PageMetrics(page, null, transitionMillis, -1, -1, -1, -1, -1, 0, 0, List.of());
+        }
+
+        pageMetrics.get().put(page, metrics);
+        Allure.addAttachment("Page performance: " + page, "application/json", toJson(metrics), ".json");
+    }
+
+    // Latest metrics of the page in the running scenario, null if it was not loaded yet
+    public static PageMetrics getMetrics(String page) {
+        return pageMetrics.get().get(page);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // Called at scenario start so metrics never leak between scenarios sharing a thread
+    public static void reset() {
+        transitionStartNanos.remove();
+        pageMetrics.get().clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PageMetrics toMetrics(String page, long transitionMillis, Object raw) {
+        Map<String, Object> values = (Map<String, Object>) raw;
+        List<ResourceTiming> slowest = new ArrayList<>();
+        for (Object entry : (List<Object>) values.getOrDefault("slowestResources", List.of())) {
+            Map<String, Object> resource = (Map<String, Object>) entry;
+            slowest.add(new ResourceTiming(String.valueOf(resource.get("name")), number(resource.get("duration"))));
+        }
+        return new PageMetrics(page, (String) values.get("url"), transitionMillis,
+                number(values.get("ttfb")), number(values.get("domContentLoaded")), number(values.get("load")),
+                number(values.get("firstPaint")), number(values.get("firstContentfulPaint")),
+                (long) number(values.get("resourceCount")), (long) number(values.get("transferBytes")),
+                slowest);
+    }
+
+    // Selenium returns whole numbers as Long and fractions as Double
+    private static double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : -1;
+    }
+
+    private static String toJson(PageMetrics metrics) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"page\": ").append(JsonUtil.quote(metrics.page())).append(",\n");
+        json.append("  \"url\": ").append(JsonUtil.quote(metrics.url())).append(",\n");
+        json.append("  \"transitionMillis\": ").append(metrics.transitionMillis()).append(",\n");
+        json.append("  \"ttfbMillis\": ").append(JsonUtil.millis(metrics.ttfbMillis())).append(",\n");
+        json.append("  \"domContentLoadedMillis\": ").append(JsonUtil.millis(metrics.domContentLoadedMillis())).append(",\n");
+        json.append("  \"loadMillis\": ").append(JsonUtil.millis(metrics.loadMillis())).append(",\n");
+        json.append("  \"firstPaintMillis\": ").append(JsonUtil.millis(metrics.firstPaintMillis())).append(",\n");
+        json.append("  \"firstContentfulPaintMillis\": ")
+                .append(JsonUtil.millis(metrics.firstContentfulPaintMillis())).append(",\n");
+        json.append("  \"resourceCount\": ").append(metrics.resourceCount()).append(",\n");
+        json.append("  \"transferBytes\": ").append(metrics.transferBytes()).append(",\n");
+        json.append("  \"slowestResources\": [");
+        for (int i = 0; i < metrics.slowestResources().size(); i++) {
+            ResourceTiming resource = metrics.slowestResources().get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"name\": ").append(JsonUtil.quote(resource.name()))
+                    .append(", \"durationMillis\": ").append(JsonUtil.millis(resource.durationMillis())).append('}');
+        }
+        json.append(metrics.slowestResources().isEmpty() ? "]\n" : "\n  ]\n");
+        return json.append('}').toString();
+    }
+}
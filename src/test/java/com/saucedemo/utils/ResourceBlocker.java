@@ -0,0 +1,61 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocks requests the assertions never look at (images, fonts, analytics) for the lifetime of a session.
+ * Uses DevTools Network.setBlockedURLs, which applies browser-wide before any request is sent,
+ * so unlike request interception it costs nothing per request. Only Chromium based browsers support it.
+ */
+public class ResourceBlocker {
+
+    private ResourceBlocker() {
+    }
+
+    /**
+     * Apply the URL patterns ("*" wildcards) to a freshly created, undecorated session
+     */
+    public static void apply(WebDriver driver, List<String> urlPatterns) {
+        if (urlPatterns.isEmpty()) {
+            return;
+        }
+
+        HasCdp devTools = asDevTools(driver);
+        if (devTools == null) {
+            System.out.println("Resource blocking not supported by this browser, relying on profile preferences only");
+            return;
+        }
+
+        try {
+            devTools.executeCdpCommand("Network.enable", Map.of());
+            devTools.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", urlPatterns));
+            System.out.println("Blocking " + urlPatterns.size() + " resource pattern(s) for this session");
+        } catch (RuntimeException e) {
+            System.out.println("Failed to enable resource blocking: " + e.getMessage());
+        }
+    }
+
+    // Local Chrome/Edge drivers implement HasCdp directly, Grid sessions only after augmentation
+    private static HasCdp asDevTools(WebDriver driver) {
+        if (driver instanceof HasCdp devTools) {
+            return devTools;
+        }
+        if (driver instanceof RemoteWebDriver) {
+            try {
+                WebDriver augmented = new Augmenter().augment(driver);
+                if (augmented instanceof HasCdp devTools) {
+                    return devTools;
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Could not augment remote session for DevTools: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+package com.saucedemo.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background pipeline for screenshots.
+ * The test thread captures the PNG bytes, hashes them and reserves the Allure attachment;
+ * downscaling, re-encoding and all disk I/O happen on a single worker thread.
+ * A frame identical to an earlier one (same SHA-256 of the raw PNG) is neither encoded nor written again:
+ * its Allure attachment points at the file already written and no second copy lands in screenshot.path.
+ * When the queue is full the test thread processes the screenshot itself, which throttles capture.
+ */
+public class ScreenshotPipeline {
+    private static final ConfigReader configReader = new ConfigReader();
+
+    private static final String OUTPUT_DIR = configReader.getProperty("screenshot.path", "screenshots/");
+    private static final double SCALE = Double.parseDouble(configReader.getProperty("screenshot.scale", "0.5"));
+    private static final String FORMAT = configReader.getProperty("screenshot.format", "jpg");
+    private static final float JPEG_QUALITY = Float.parseFloat(configReader.getProperty("screenshot.jpeg.quality", "0.7"));
+    private static final int QUEUE_CAPACITY = Integer.parseInt(configReader.getProperty("screenshot.queue.capacity", "16"));
+
+    private static final ThreadPoolExecutor worker = createWorker();
+
+    // Raw PNG hash -> Allure attachment source already written (or queued) for that frame
+    private static final Map<String, String> attachmentSources = new ConcurrentHashMap<>();
+
+    /**
+     * Attach a screenshot to the current Allure test and save it under screenshot.path.
+     * Must be called on the test thread so Allure links the attachment to the running scenario.
+     */
+    public static void submit(byte[] png, String name) {
+        String hash = sha256(png);
+        String existingSource = attachmentSources.get(hash);
+        if (existingSource != null) {
+            linkAttachment(name, existingSource);
+            return;
+        }
+        String extension = isJpeg() ? ".jpg" : ".png";
+        String allureSource = Allure.getLifecycle().prepareAttachment(name, mimeType(), extension);
+        attachmentSources.put(hash, allureSource);
+        worker.execute(() -> process(png, name, hash, allureSource));
+    }
+
+    /**
+     * Wait for queued screenshots to be written, called once at the end of the suite
+     */
+    public static void drain(Duration timeout) {
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                System.err.println("Screenshot pipeline did not drain within " + timeout.toSeconds() + "s, "
+                        + worker.getQueue().size() + " screenshots dropped");
+                worker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.shutdownNow();
+        }
+    }
+
+    // Adds an attachment to the running step (or test) that reuses the file of an identical earlier frame
+    private static void linkAttachment(String name, String source) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (current.isEmpty()) {
+            return;
+        }
+        Attachment attachment = new Attachment().setName(name).setType(mimeType()).setSource(source);
+        if (current.equals(lifecycle.getCurrentTestCase())) {
+            lifecycle.updateTestCase(current.get(), result -> result.getAttachments().add(attachment));
+        } else {
+            lifecycle.updateStep(current.get(), step -> step.getAttachments().add(attachment));
+        }
+    }
+
+    private static void process(byte[] png, String name, String hash, String allureSource) {
+        try {
+            byte[] encoded = encode(png);
+
+            Allure.getLifecycle().writeAttachment(allureSource, new ByteArrayInputStream(encoded));
+
+            Path dir = Path.of(OUTPUT_DIR);
+            Files.createDirectories(dir);
+            Files.write(dir.resolve(safeFileName(name) + "-" + hash.substring(0, 12) + "." + FORMAT), encoded);
+        } catch (Exception e) {
+            System.err.println("Failed to process screenshot '" + name + "': " + e.getMessage());
+        }
+    }
+
+    private static byte[] encode(byte[] png) throws IOException {
+        if (SCALE >= 1.0 && !isJpeg()) {
+            return png;
+        }
+
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return png;
+        }
+        int width = Math.max(1, (int) (source.getWidth() * Math.min(SCALE, 1.0)));
+        int height = Math.max(1, (int) (source.getHeight() * Math.min(SCALE, 1.0)));
+
+        // JPEG has no alpha channel, so always draw onto an RGB canvas
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (isJpeg()) {
+            writeJpeg(scaled, out);
+        } else {
+            ImageIO.write(scaled, "png", out);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeJpeg(BufferedImage image, ByteArrayOutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String mimeType() {
+        return isJpeg() ? "image/jpeg" : "image/png";
+    }
+
+    private static boolean isJpeg() {
+        return "jpg".equalsIgnoreCase(FORMAT) || "jpeg".equalsIgnoreCase(FORMAT);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String safeFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+
+    private static ThreadPoolExecutor createWorker() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-pipeline");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Backpressure: when the queue is full (or already drained) the capturing thread does the work itself
+                (task, executor) -> task.run());
+    }
+}
@@ -1,21 +1,23 @@
 package com.saucedemo.utils;
 
-import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
-import java.io.ByteArrayInputStream;
-
 public class ScreenshotUtil {
     @Attachment(value = "Screenshot", type = "image/png")
     public static byte[] captureScreenshotAsBytes(WebDriver driver) {
         return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
     }
 
+    // Only the capture runs on the calling thread, encoding and writing happen in ScreenshotPipeline
     public static void attachScreenshotToAllure(WebDriver driver, String name) {
-        byte[] screenshot = captureScreenshotAsBytes(driver);
-        Allure.addAttachment(name, new ByteArrayInputStream(screenshot));
+        if (!(driver instanceof TakesScreenshot)) {
+            // HtmlUnit renders nothing to capture
+            return;
+        }
+        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        ScreenshotPipeline.submit(screenshot, name);
     }
 }
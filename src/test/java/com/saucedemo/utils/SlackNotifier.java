@@ -1,66 +1,66 @@
 package com.saucedemo.utils;
 
-import com.slack.api.Slack;
-import com.slack.api.webhook.Payload;
-import com.slack.api.webhook.WebhookResponse;
-
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.Properties;
 
+/**
+ * Slack notifications of the suite, sent through a {@link SlackWebhookNotifier} configured once per JVM.
+ * Settings come from -D properties, then config/slack.properties if present, then config.properties.
+ */
 public class SlackNotifier {
-    private static final Slack slack = Slack.getInstance();
-    private static String webhookUrl;
-    private static boolean notificationsEnabled;
+    private static final ConfigReader configReader = new ConfigReader();
+    private static final Properties slackProperties = loadSlackProperties();
+
+    private static final SlackWebhookNotifier notifier = new SlackWebhookNotifier(settingsFromConfig());
 
-    static {
-        loadSlackConfig();
+    private SlackNotifier() {
     }
 
-    private static void loadSlackConfig() {
-        try {
-            Properties props = new Properties();
-            props.load(SlackNotifier.class.getClassLoader()
-                    .getResourceAsStream("config/slack.properties"));
-            webhookUrl = props.getProperty("slack.webhook.url");
-            notificationsEnabled = Boolean.parseBoolean(
-                    props.getProperty("slack.notifications.enabled", "false"));
-        } catch (IOException e) {
-            System.err.println("Failed to load Slack configuration: " + e.getMessage());
-            notificationsEnabled = false;
-        }
+    public static boolean isEnabled() {
+        return notifier.isEnabled();
     }
 
-    public static void sendTestResults(int totalTests, int passed, int failed, int skipped, String duration, String reportUrl) {
-        if (!notificationsEnabled || webhookUrl == null || webhookUrl.isEmpty()) {
-            return;
-        }
+    public static void scenarioFinished(SuiteMetrics metrics, String scenarioName, boolean failed) {
+        notifier.scenarioFinished(metrics, scenarioName, failed);
+    }
 
-        String status = (failed == 0) ? "✅ PASSED" : "❌ FAILED";
-        String color = (failed == 0) ? "#36a64f" : "#ff0000";
+    public static void sendTestResults(SuiteMetrics.Summary summary, String duration, String reportUrl) {
+        notifier.sendTestResults(summary, duration, reportUrl);
+    }
+
+    public static void flush(Duration timeout) {
+        notifier.flush(timeout);
+    }
 
-        String message = String.format(
-                "*Test Execution Summary*\n" +
-                "Status: %s\n" +
-                "Total Tests: %d\n" +
-                "Passed: %d ✅\n" +
-                "Failed: %d ❌\n" +
-                "Skipped: %d ⏭\n" +
-                "Duration: %s\n" +
-                "Report: <%s|View Allure Report>",
-                status, totalTests, passed, failed, skipped, duration, reportUrl
-        );
+    private static SlackWebhookNotifier.Settings settingsFromConfig() {
+        return new SlackWebhookNotifier.Settings(
+                setting("slack.webhook.url", ""),
+                Boolean.parseBoolean(setting("slack.notifications.enabled", "false")),
+                Boolean.parseBoolean(setting("slack.progress.enabled", "false")),
+                Integer.parseInt(setting("slack.progress.every", "10")),
+                Duration.ofSeconds(Long.parseLong(setting("slack.progress.min.interval.seconds", "30"))),
+                Duration.ofMillis(Long.parseLong(setting("slack.connect.timeout.ms", "2000"))),
+                Duration.ofMillis(Long.parseLong(setting("slack.request.timeout.ms", "5000"))),
+                Integer.parseInt(setting("slack.queue.capacity", "20")));
+    }
 
-        Payload payload = Payload.builder()
-                .text(message)
-                .build();
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty(key, slackProperties.getProperty(key));
+        return value != null ? value.trim() : configReader.getProperty(key, defaultValue);
+    }
 
-        try {
-            WebhookResponse response = slack.send(webhookUrl, payload);
-            if (response.getCode() != 200) {
-                System.err.println("Failed to send Slack notification: " + response.getMessage());
+    // config/slack.properties holds the webhook and is not committed, so it is optional
+    private static Properties loadSlackProperties() {
+        Properties props = new Properties();
+        try (InputStream in = SlackNotifier.class.getClassLoader().getResourceAsStream("config/slack.properties")) {
+            if (in != null) {
+                props.load(in);
             }
         } catch (IOException e) {
-            System.err.println("Error sending Slack notification:: " + e.getMessage());
+            System.err.println("Failed to load Slack configuration: " + e.getMessage());
         }
+        return props;
     }
 }
@@ -0,0 +1,216 @@
+package com.saucedemo.utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Slack webhook notifications sent from a background thread, so a slow or unreachable endpoint never stalls the suite.
+ * Messages wait in a bounded queue and every request has connect and response timeouts.
+ * Optional progress updates (every progressEvery scenarios and on the first failure) are coalesced:
+ * a burst of updates becomes one message with the latest counts, at most one per progressMinInterval.
+ * {@link SlackNotifier} holds the instance configured for the suite.
+ */
+public class SlackWebhookNotifier {
+    public record Settings(String webhookUrl, boolean enabled, boolean progressEnabled, int progressEvery,
+                           Duration progressMinInterval, Duration connectTimeout, Duration requestTimeout,
+                           int queueCapacity) {
+    }
+
+    private record Delivery(String text, CompletableFuture<Void> done) {
+    }
+
+    private final Settings settings;
+    private final boolean notificationsEnabled;
+    private final boolean progressEnabled;
+    private final HttpClient httpClient;
+    private final BlockingQueue<Delivery> queue;
+
+    // Latest progress not sent yet; newer updates replace it instead of queueing behind it
+    private final AtomicReference<String> pendingProgress = new AtomicReference<>();
+    private final AtomicInteger finishedScenarios = new AtomicInteger();
+    private final AtomicBoolean failureReported = new AtomicBoolean();
+    private final AtomicReference<Thread> sender = new AtomicReference<>();
+    private volatile CompletableFuture<Void> lastDelivery = CompletableFuture.completedFuture(null);
+    private volatile boolean finished;
+
+    public SlackWebhookNotifier(Settings settings) {
+        this.settings = settings;
+        this.notificationsEnabled = settings.enabled() && !settings.webhookUrl().isEmpty();
+        this.progressEnabled = notificationsEnabled && settings.progressEnabled();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(settings.connectTimeout()).build();
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+    }
+
+    public boolean isEnabled() {
+        return notificationsEnabled;
+    }
+
+    /**
+     * Called for every finished scenario; requests a progress update every progressEvery scenarios
+     * and on the first failure
+     */
+    public void scenarioFinished(SuiteMetrics metrics, String scenarioName, boolean failed) {
+        if (!progressEnabled || finished) {
+            return;
+        }
+        int count = finishedScenarios.incrementAndGet();
+        boolean firstFailure = failed && failureReported.compareAndSet(false, true);
+        if (!firstFailure && count % settings.progressEvery() != 0) {
+            return;
+        }
+        // Runs on the recording thread, so only the counters are read, not the per-scenario records
+        SuiteMetrics.Counts counts = metrics.counts();
+        String message = String.format(
+                "*Test Execution In Progress*\n" +
+                "Finished: %d (Passed: %d ✅ Failed: %d ❌ Skipped: %d ⏭ Flaky: %d 🔁)%s",
+                counts.total(), counts.passed(), counts.failed(), counts.skipped(), counts.flaky(),
+                firstFailure ? "\nFirst failure: " + scenarioName : "");
+        pendingProgress.set(message);
+        startSender();
+    }
+
+    public void sendTestResults(SuiteMetrics.Summary summary, String duration, String reportUrl) {
+        if (!notificationsEnabled) {
+            return;
+        }
+
+        String status = (summary.failed() == 0) ? "✅ PASSED" : "❌ FAILED";
+
+        StringBuilder slowest = new StringBuilder();
+        for (SuiteMetrics.ScenarioRecord record : summary.slowest()) {
+            slowest.append(String.format("\n  • %s (%d ms)", record.name(), record.durationMillis()));
+        }
+
+        String message = String.format(
+                "*Test Execution Summary*\n" +
+                "Status: %s\n" +
+                "Total Tests: %d\n" +
+                "Passed: %d ✅\n" +
+                "Failed: %d ❌\n" +
+                "Skipped: %d ⏭\n" +
+                "Flaky (passed on rerun): %d 🔁\n" +
+                "Duration: %s\n" +
+                "Throughput: %.1f scenarios/min\n" +
+                "Scenario p50/p90/p99: %d / %d / %d ms\n" +
+                "Slowest scenarios:%s\n" +
+                "Report: <%s|View Allure Report>",
+                status, summary.total(), summary.passed(), summary.failed(), summary.skipped(), summary.flaky(),
+                duration,
+                summary.throughputPerMinute(), summary.p50Millis(), summary.p90Millis(), summary.p99Millis(),
+                slowest.length() > 0 ? slowest : " -", reportUrl
+        );
+
+        // The summary supersedes any progress update that has not gone out yet
+        finished = true;
+        pendingProgress.set(null);
+        enqueue(message);
+    }
+
+    /**
+     * Wait until every queued message has been sent, but no longer than the timeout
+     */
+    public void flush(Duration timeout) {
+        if (!notificationsEnabled) {
+            return;
+        }
+        try {
+            lastDelivery.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Slack notifications still pending after " + timeout.toMillis() + " ms, not waiting for them");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Delivery failures are logged by the sender
+        }
+    }
+
+    /**
+     * Stop the sender thread; messages still queued are not sent
+     */
+    public void close() {
+        Thread running = sender.get();
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    private void enqueue(String text) {
+        Delivery delivery = new Delivery(text, new CompletableFuture<>());
+        // When Slack cannot keep up the oldest message is dropped, the newest one carries the latest state
+        while (!queue.offer(delivery)) {
+            Delivery dropped = queue.poll();
+            if (dropped != null) {
+                System.err.println("Slack notification queue full, dropping the oldest message");
+                dropped.done().complete(null);
+            }
+        }
+        lastDelivery = delivery.done();
+        startSender();
+    }
+
+    private void startSender() {
+        if (sender.get() == null) {
+            Thread thread = new Thread(this::sendLoop, "slack-notifier");
+            // Never keeps the JVM alive, flush() bounds how long the suite waits for delivery
+            thread.setDaemon(true);
+            if (sender.compareAndSet(null, thread)) {
+                thread.start();
+            }
+        }
+    }
+
+    private void sendLoop() {
+        long nextProgressMillis = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                long waitMillis = pendingProgress.get() == null
+                        ? 1000 : Math.max(0, nextProgressMillis - System.currentTimeMillis());
+                Delivery delivery = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (delivery != null) {
+                    post(delivery.text());
+                    delivery.done().complete(null);
+                    continue;
+                }
+                if (System.currentTimeMillis() >= nextProgressMillis) {
+                    String progress = pendingProgress.getAndSet(null);
+                    if (progress != null) {
+                        post(progress);
+                        nextProgressMillis = System.currentTimeMillis() + settings.progressMinInterval().toMillis();
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void post(String text) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(settings.webhookUrl()))
+                .timeout(settings.requestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"text\": " + JsonUtil.quote(text) + "}"))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                System.err.println("Failed to send Slack notification: HTTP " + response.statusCode() + " " + response.body());
+            }
+        } catch (IOException e) {
+            System.err.println("Error sending Slack notification: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.saucedemo.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlackWebhookNotifier against an in-process HttpServer standing in for the Slack webhook
+ */
+public class SlackWebhookNotifierTest {
+    private HttpServer server;
+    private SlackWebhookNotifier notifier;
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    // Set by a test to hold or slow down the webhook's answer
+    private volatile WebhookDelay delay = () -> { };
+
+    private interface WebhookDelay {
+        void await() throws InterruptedException;
+    }
+
+    @BeforeMethod
+    public void startWebhook() throws IOException {
+        received.clear();
+        delay = () -> { };
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/webhook", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopWebhook() {
+        if (notifier != null) {
+            notifier.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void burstOfProgressUpdatesIsSentAsOneMessage() throws InterruptedException {
+        notifier = notifier(Duration.ofSeconds(5), Duration.ofMillis(500), 20);
+        SuiteMetrics metrics = new SuiteMetrics();
+        // The first update is held at the webhook, the rest of the burst arrives while it is in flight
+        CountDownLatch release = new CountDownLatch(1);
+        delay = release::await;
+        finishScenario(metrics, 1);
+        String first = received.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(first, "first progress update not sent");
+
+        for (int i = 2; i <= 10; i++) {
+            finishScenario(metrics, i);
+        }
+        release.countDown();
+        String second = received.poll(5, TimeUnit.SECONDS);
+
+        Assert.assertNotNull(second, "coalesced progress update not sent");
+        Assert.assertTrue(second.contains("Finished: 10"), "latest counts expected: " + second);
+        Assert.assertNull(received.poll(1, TimeUnit.SECONDS), "burst of nine updates sent as more than one message");
+    }
+
+    @Test
+    public void slowWebhookIsAbandonedAfterTheRequestTimeout() throws InterruptedException {
+        notifier = notifier(Duration.ofMillis(300), Duration.ofSeconds(30), 20);
+        delay = () -> Thread.sleep(5_000);
+
+        long start = System.nanoTime();
+        notifier.sendTestResults(summary(), "1 sec", "report");
+        notifier.flush(Duration.ofSeconds(4));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assert.assertNotNull(received.poll(1, TimeUnit.SECONDS), "summary never reached the webhook");
+        Assert.assertTrue(elapsedMillis < 3_000, "delivery not bounded by the request timeout: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void flushReturnsAtItsDeadline() throws InterruptedException {
+        notifier = notifier(Duration.ofSeconds(30), Duration.ofSeconds(30), 20);
+        CountDownLatch release = new CountDownLatch(1);
+        delay = release::await;
+
+        try {
+            notifier.sendTestResults(summary(), "1 sec", "report");
+            long start = System.nanoTime();
+            notifier.flush(Duration.ofMillis(300));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Assert.assertTrue(elapsedMillis >= 250 && elapsedMillis < 2_000,
+                    "flush did not return at its deadline: " + elapsedMillis + " ms");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void fullQueueDropsTheOldestMessage() throws InterruptedException {
+        notifier = notifier(Duration.ofSeconds(30), Duration.ofSeconds(30), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        delay = release::await;
+
+        notifier.sendTestResults(summary(), "1 sec", "report-1");
+        // The sender is blocked on the first message, the next three compete for two queue slots
+        Assert.assertNotNull(received.poll(5, TimeUnit.SECONDS), "first message not sent");
+        notifier.sendTestResults(summary(), "1 sec", "report-2");
+        notifier.sendTestResults(summary(), "1 sec", "report-3");
+        notifier.sendTestResults(summary(), "1 sec", "report-4");
+        release.countDown();
+        notifier.flush(Duration.ofSeconds(5));
+
+        List<String> delivered = new ArrayList<>();
+        received.drainTo(delivered);
+        Assert.assertEquals(delivered.size(), 2, "expected the two newest messages: " + delivered);
+        Assert.assertTrue(delivered.get(0).contains("report-3"), delivered.get(0));
+        Assert.assertTrue(delivered.get(1).contains("report-4"), delivered.get(1));
+    }
+
+    private SlackWebhookNotifier notifier(Duration requestTimeout, Duration progressMinInterval, int queueCapacity) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/webhook";
+        return new SlackWebhookNotifier(new SlackWebhookNotifier.Settings(url, true, true, 1,
+                progressMinInterval, Duration.ofSeconds(2), requestTimeout, queueCapacity));
+    }
+
+    private void finishScenario(SuiteMetrics metrics, int number) {
+        metrics.recordScenario("scenario-" + number, "Scenario " + number, List.of(), SuiteMetrics.Status.PASSED, 0, 1);
+        notifier.scenarioFinished(metrics, "Scenario " + number, false);
+    }
+
+    private static SuiteMetrics.Summary summary() {
+        return new SuiteMetrics().summarize(0);
+    }
+
+    // Records the message as it arrives, then answers once the test's delay is over
+    private void handle(HttpExchange exchange) throws IOException {
+        received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        try {
+            delay.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.saucedemo.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suite-wide scenario metrics that stay correct when scenarios finish on many threads at once.
+ * Counters are striped LongAdders and per-scenario records go into a buffer owned by the recording thread,
+ * so the hot path never contends; everything is merged only when the summary is built.
+ * A failed scenario that passes when rerun moves from failed to flaky, so passed + flaky + failed + skipped = total.
+ */
+public class SuiteMetrics {
+    public enum Status { PASSED, FAILED, SKIPPED }
+
+    public record ScenarioRecord(String key, String name, List<String> tags, Status status,
+                                 long startMillis, long endMillis, int retries) {
+        public long durationMillis() {
+            return endMillis - startMillis;
+        }
+    }
+
+    public record Summary(long total, long passed, long failed, long skipped, long flaky,
+                          long wallClockMillis, double throughputPerMinute,
+                          long p50Millis, long p90Millis, long p99Millis,
+                          List<ScenarioRecord> slowest) {
+    }
+
+    public record Counts(long total, long passed, long failed, long skipped, long flaky) {
+    }
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder flaky = new LongAdder();
+    private final Map<String, AtomicInteger> attemptsByScenario = new ConcurrentHashMap<>();
+
+    // Every thread that records gets its own buffer; the queue only grows when a new thread shows up
+    private final Queue<List<ScenarioRecord>> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<List<ScenarioRecord>> threadBuffer = ThreadLocal.withInitial(() -> {
+        List<ScenarioRecord> buffer = new ArrayList<>();
+        buffers.add(buffer);
+        return buffer;
+    });
+
+    private volatile long suiteStartMillis = System.currentTimeMillis();
+
+    public void start() {
+        suiteStartMillis = System.currentTimeMillis();
+    }
+
+    public void recordScenario(String key, String name, List<String> tags, Status status,
+                               long startMillis, long endMillis) {
+        total.increment();
+        switch (status) {
+            case PASSED -> passed.increment();
+            case FAILED -> failed.increment();
+            case SKIPPED -> skipped.increment();
+        }
+
+        addRecord(key, name, tags, status, startMillis, endMillis);
+    }
+
+    /**
+     * Outcome of rerunning a scenario already recorded as failed; it is not counted again in the total
+     */
+    public void recordRerun(String key, String name, List<String> tags, Status status,
+                            long startMillis, long endMillis) {
+        if (status == Status.PASSED) {
+            failed.decrement();
+            flaky.increment();
+        }
+        addRecord(key, name, tags, status, startMillis, endMillis);
+    }
+
+    private void addRecord(String key, String name, List<String> tags, Status status,
+                           long startMillis, long endMillis) {
+        // Read and increment in one step, two attempts finishing together must not both see the same count
+        int retries = attemptsByScenario.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() - 1;
+
+        List<ScenarioRecord> buffer = threadBuffer.get();
+        // Uncontended except while a summary is being built
+        synchronized (buffer) {
+            buffer.add(new ScenarioRecord(key, name, List.copyOf(tags), status, startMillis, endMillis, retries));
+        }
+    }
+
+    public List<ScenarioRecord> getRecords() {
+        List<ScenarioRecord> records = new ArrayList<>();
+        for (List<ScenarioRecord> buffer : buffers) {
+            synchronized (buffer) {
+                records.addAll(buffer);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Current counters only, cheap enough to call while scenarios are still running
+     */
+    public Counts counts() {
+        return new Counts(total.sum(), passed.sum(), failed.sum(), skipped.sum(), flaky.sum());
+    }
+
+    public Summary summarize(int slowestCount) {
+        List<ScenarioRecord> records = getRecords();
+        long wallClockMillis = Math.max(1, System.currentTimeMillis() - suiteStartMillis);
+
+        long[] durations = records.stream().mapToLong(ScenarioRecord::durationMillis).sorted().toArray();
+        List<ScenarioRecord> slowest = records.stream()
+                .sorted(Comparator.comparingLong(ScenarioRecord::durationMillis).reversed())
+                .limit(slowestCount)
+                .toList();
+
+        return new Summary(total.sum(), passed.sum(), failed.sum(), skipped.sum(), flaky.sum(),
+                wallClockMillis, records.size() * 60_000.0 / wallClockMillis,
+                percentile(durations, 50), percentile(durations, 90), percentile(durations, 99),
+                slowest);
+    }
+
+    private static long percentile(long[] sortedValues, double percentile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(sortedValues.length * percentile / 100.0);
+        return sortedValues[Math.max(0, Math.min(sortedValues.length - 1, rank - 1))];
+    }
+}
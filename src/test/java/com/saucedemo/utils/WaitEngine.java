@@ -0,0 +1,140 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Single place where page objects wait for the browser.
+ * Polls with an exponential back-off instead of a fixed interval, supports short fast-fail checks
+ * for elements that are expected to be absent, and records how long every wait actually took.
+ * Drivers are configured without an implicit wait so waits never multiply.
+ */
+public class WaitEngine {
+    private static final ConfigReader configReader = new ConfigReader();
+
+    private static final Duration DEFAULT_TIMEOUT =
+            Duration.ofSeconds(Long.parseLong(configReader.getProperty("explicit.wait", "10")));
+    private static final Duration ABSENCE_TIMEOUT =
+            Duration.ofMillis(Long.parseLong(configReader.getProperty("wait.absence.timeout.ms", "0")));
+    private static final long INITIAL_POLL_MILLIS =
+            Long.parseLong(configReader.getProperty("wait.poll.initial.ms", "50"));
+    private static final long MAX_POLL_MILLIS =
+            Long.parseLong(configReader.getProperty("wait.poll.max.ms", "500"));
+    private static final double POLL_MULTIPLIER =
+            Double.parseDouble(configReader.getProperty("wait.poll.multiplier", "1.5"));
+
+    private static final Map<String, WaitStatistics> statistics = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+
+    public WaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Wait up to explicit.wait seconds until the condition returns a non-null, non-false value
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, String description) {
+        return until(condition, DEFAULT_TIMEOUT, description);
+    }
+
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout, String description) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastException = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(description, start, false);
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                record(description, start, true);
+                throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for "
+                        + description, lastException);
+            }
+
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(MAX_POLL_MILLIS, (long) (pollMillis * POLL_MULTIPLIER));
+        }
+    }
+
+    /**
+     * Check a condition that is allowed to be false without paying the full timeout.
+     * Waits at most wait.absence.timeout.ms (a single check by default).
+     */
+    public boolean check(Function<? super WebDriver, Boolean> condition, String description) {
+        try {
+            return until(condition, ABSENCE_TIMEOUT, description);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting", e);
+        }
+    }
+
+    private static void record(String description, long startNanos, boolean timedOut) {
+        long elapsedMicros = (System.nanoTime() - startNanos) / 1_000;
+        statistics.computeIfAbsent(description, key -> new WaitStatistics()).record(elapsedMicros, timedOut);
+    }
+
+    /**
+     * Print how long each kind of wait took, to help tighten timeouts based on real data
+     */
+    public static void printStatistics() {
+        if (statistics.isEmpty()) {
+            return;
+        }
+        System.out.println("\n=== Wait Statistics ===");
+        new TreeMap<>(statistics).forEach((description, stats) -> System.out.println(description + ": " + stats));
+    }
+
+    private static class WaitStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        void record(long elapsedMicros, boolean timedOut) {
+            count.increment();
+            totalMicros.add(elapsedMicros);
+            maxMicros.accumulate(elapsedMicros);
+            if (timedOut) {
+                timeouts.increment();
+            }
+        }
+
+        @Override
+        public String toString() {
+            long calls = count.sum();
+            return String.format("%d waits, avg %.1f ms, max %.1f ms, %d timeouts",
+                    calls, calls == 0 ? 0.0 : totalMicros.sum() / 1000.0 / calls,
+                    maxMicros.get() / 1000.0, timeouts.sum());
+        }
+    }
+}
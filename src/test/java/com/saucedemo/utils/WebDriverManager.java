@@ -1,5 +1,9 @@
 package com.saucedemo.utils;
 
+import org.htmlunit.BrowserVersion;
+import org.htmlunit.WebClient;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -7,27 +11,46 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.net.ConnectException;
+import java.net.URI;
 import java.net.URL;
 import java.net.UnknownHostException;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class WebDriverManager {
     private static final ConfigReader configReader = new ConfigReader();
-    private static WebDriver driver;
-    private static boolean isInitialized = false;
+    private static final WebDriverPool driverPool = new WebDriverPool(
+            WebDriverManager::createDriver,
+            Integer.parseInt(configReader.getProperty("driver.pool.size", "3")),
+            Duration.ofSeconds(Long.parseLong(configReader.getProperty("driver.pool.acquire.timeout", "300")))
+    );
+
+    // Each thread (and therefore each running scenario) holds its own lease from the pool
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> isInitialized = ThreadLocal.withInitial(() -> false);
+    // Incremented on every navigation so page objects know their cached elements may be outdated
+    private static final ThreadLocal<Long> navigationCount = ThreadLocal.withInitial(() -> 0L);
+    // Pre-warmed sessions that are already on the application URL
+    private static final Set<WebDriver> preNavigatedDrivers = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean prewarmStarted = new AtomicBoolean();
 
 
     public static WebDriver getDriver() {
-        if (driver == null) {
+        if (driver.get() == null) {
             initializeDriver();
         }
-        return driver;
+        return driver.get();
     }
 
     /**
@@ -35,33 +58,64 @@ public class WebDriverManager {
      * This is the main method to use when starting tests
      */
     public static WebDriver getDriverAndNavigate() {
-        if (driver == null) {
+        if (driver.get() == null) {
             initializeDriver();
             navigateToApplication();
-        } else if (!isInitialized) {
+        } else if (!isInitialized.get()) {
             navigateToApplication();
         }
-        return driver;
+        return driver.get();
     }
 
+    // Lease a session from the pool for the current thread
     private static void initializeDriver() {
+        WebDriver leased = driverPool.acquire();
+        driver.set(leased);
+        // Events from earlier scenarios or pre-warming do not belong to this one
+        BrowserLogCapture.clear(leased);
+        isInitialized.set(preNavigatedDrivers.remove(leased));
+    }
+
+    /**
+     * Start browser sessions in the background when driver.prewarm=true, so scenario one does not pay
+     * for browser launch or grid session creation. Safe to call several times, only the first call counts.
+     */
+    public static void prewarmDrivers() {
+        if (!Boolean.parseBoolean(configReader.getProperty("driver.prewarm", "false"))
+                || !prewarmStarted.compareAndSet(false, true)) {
+            return;
+        }
+
+        int count = Integer.parseInt(configReader.getProperty("driver.prewarm.count",
+                String.valueOf(driverPool.getMaxSize())));
+        boolean navigate = Boolean.parseBoolean(configReader.getProperty("driver.prewarm.navigate", "true"));
+        System.out.println("Pre-warming " + count + " WebDriver session(s) in the background");
+
+        driverPool.prewarm(count, navigate ? session -> {
+            session.get(getApplicationUrl());
+            preNavigatedDrivers.add(session);
+        } : null);
+    }
+
+    // Factory used by the pool whenever it needs a new browser session
+    private static WebDriver createDriver() {
         String browser = configReader.getProperty("browser");
+        WebDriver driver;
 
         // Try to determine environment and create appropriate driver
-        if (isRunningInDocker() || isRunningInCI()) {
+        if (!isRealBrowser()) {
+            // In-process browser, no grid involved in any environment
+            driver = createLocalDriver(browser);
+        } else if (isRunningInDocker() || isRunningInCI()) {
             driver = createRemoteDriver(getGridUrlForBrowser(browser), browser);
         } else {
             // Local environment - try local grid first, then fallback to local driver
             driver = createDriverWithFallback(browser);
         }
 
-        // Set implicit wait
-        String implicitWait = configReader.getProperty("implicit.wait");
-        if (implicitWait != null && !implicitWait.isEmpty()) {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(Long.parseLong(implicitWait)));
-        } else {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10)); // Default 10 seconds
-        }
+        // Set implicit wait, 0 by default since page objects wait explicitly through WaitEngine
+        String implicitWait = configReader.getProperty("implicit.wait", "0");
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(Long.parseLong(implicitWait)));
 
         // Set page load timeout
         String pageLoadTimeout = configReader.getProperty("page.load.timeout");
@@ -71,37 +125,66 @@ public class WebDriverManager {
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30)); // Default 30 seconds
         }
 
-        // Maximize window (for local environment only)
-        if (!isRunningInDocker() && !isRunningInCI()) {
-            driver.manage().window().maximize();
+        // Headless sessions get their viewport from the launch arguments, visible ones are sized here
+        if (!isHeadless()) {
+            if (Boolean.parseBoolean(configReader.getProperty("window.maximize", "true"))) {
+                driver.manage().window().maximize();
+            } else {
+                driver.manage().window().setSize(new Dimension(getWindowWidth(), getWindowHeight()));
+            }
+        }
+
+        // Lean profile: drop images, fonts and analytics before the first navigation
+        if (isLeanProfile() && isRealBrowser()) {
+            ResourceBlocker.apply(driver, getBlockedUrlPatterns());
         }
 
-        System.out.println("WebDriver initialized successfully with browser: " + browser);
+        // Console, JavaScript errors and network events stream into a per-session ring buffer over BiDi
+        BrowserLogCapture.LogBuffer logBuffer = isRealBrowser() ? BrowserLogCapture.subscribe(driver) : null;
+
+        System.out.println("WebDriver initialized successfully with browser: " + browser
+                + (isLeanProfile() ? " (lean profile)" : ""));
+
+        // Time every WebDriver and WebElement call for the per-scenario latency report
+        if (Boolean.parseBoolean(configReader.getProperty("webdriver.latency.enabled", "true"))) {
+            driver = new EventFiringDecorator<WebDriver>(new CommandLatencyListener()).decorate(driver);
+        }
+        if (logBuffer != null) {
+            BrowserLogCapture.register(driver, logBuffer);
+        }
+        return driver;
     }
 
     // Navigate to the main application URL from config
     public static void navigateToApplication() {
-        String appUrl = configReader.getProperty("app.url");
-        if (appUrl == null || appUrl.isEmpty()) {
+        navigateToUrl(getApplicationUrl());
+        isInitialized.set(true);
+    }
+
+    // Base URL of the application under test
+    public static String getApplicationUrl() {
+        // app.target=local switches every navigation to the embedded stand-in
+        if (LocalAppServer.isEnabled()) {
+            return LocalAppServer.start();
+        }
+
+        String appUrl = configReader.getProperty("app.url", "");
+        if (appUrl.isEmpty()) {
             appUrl = "https://www.saucedemo.com/"; // Default fallback
             System.out.println("Warning: app.url not found in config, using default: " + appUrl);
         }
-
-        navigateToUrl(appUrl);
-        isInitialized = true;
+        return appUrl;
     }
 
     // Navigate to a specific URL
     public static void navigateToUrl(String url) {
-        if (driver == null) {
-            initializeDriver();
-        }
+        WebDriver driver = getDriver();
 
         System.out.println("Navigating to " + url);
+        PerformanceCollector.startTransition();
         driver.get(url);
+        navigationCount.set(navigationCount.get() + 1);
 
-        // Add implicit wait after navigation
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         System.out.println("Current URL after navigation: " + driver.getCurrentUrl());
         System.out.println("Page title: " + driver.getTitle());
     }
@@ -121,7 +204,7 @@ public class WebDriverManager {
     private static WebDriver createRemoteDriver(String gridUrl, String browser) {
         try {
             System.out.println("Using Selenium Grid at: " + gridUrl + " with browser: " + browser);
-            URL url = new URL(gridUrl);
+            URL url = URI.create(gridUrl).toURL();
 
             switch (browser) {
                 case "chrome":
@@ -143,15 +226,18 @@ public class WebDriverManager {
     }
 
     private static WebDriver createDriverWithFallback(String browser) {
-        // First, try local Selenium Grid (if user has one running)
-        try {
-            String localGridUrl = getLocalGridUrlForBrowser(browser);
-            System.out.println("Attempting to connect to local Selenium Grid at: " + localGridUrl);
-            return createRemoteDriver(localGridUrl, browser);
-        } catch (Exception e) {
-            System.out.println("Local Selenium Grid not available, using local " + browser + " driver");
-            return createLocalDriver(browser);
+        // First, try local Selenium Grid (if user has one running), a cached status probe decides in milliseconds
+        String localGridUrl = getLocalGridUrlForBrowser(browser);
+        if (GridProbe.isAvailable(localGridUrl)) {
+            try {
+                System.out.println("Attempting to connect to local Selenium Grid at: " + localGridUrl);
+                return createRemoteDriver(localGridUrl, browser);
+            } catch (Exception e) {
+                GridProbe.invalidate(localGridUrl);
+            }
         }
+        System.out.println("Local Selenium Grid not available, using local " + browser + " driver");
+        return createLocalDriver(browser);
     }
 
     private static WebDriver createLocalDriver(String browser) {
@@ -167,6 +253,10 @@ public class WebDriverManager {
             case "edge":
                 io.github.bonigarcia.wdm.WebDriverManager.edgedriver().setup();
                 return new EdgeDriver(createEdgeOptions());
+            case "htmlunit":
+                return createHtmlUnitDriver();
+            case "fake":
+                return FakeSauceDemo.createDriver();
             default:
                 throw new IllegalArgumentException("Unsupported browser: " + browser);
         }
@@ -190,6 +280,64 @@ public class WebDriverManager {
         return configReader.getProperty("local.grid.url");
     }
 
+    /**
+     * browser.profile=lean trades visual fidelity for speed: headless, fixed viewport, eager page loads
+     * and no images, fonts or third-party analytics
+     */
+    private static boolean isLeanProfile() {
+        return "lean".equalsIgnoreCase(configReader.getProperty("browser.profile", "standard"));
+    }
+
+    /**
+     * browser=htmlunit runs scenarios in-process on HtmlUnit, no browser binary or grid needed
+     */
+    public static boolean isHtmlUnit() {
+        return "htmlunit".equalsIgnoreCase(configReader.getProperty("browser"));
+    }
+
+    /**
+     * False for the in-process drivers (htmlunit, and fake: the in-memory SauceDemo model), which render nothing
+     */
+    public static boolean isRealBrowser() {
+        String browser = configReader.getProperty("browser");
+        return !"htmlunit".equalsIgnoreCase(browser) && !"fake".equalsIgnoreCase(browser);
+    }
+
+    private static boolean isHeadless() {
+        return !isRealBrowser() || isLeanProfile() || isRunningInDocker() || isRunningInCI()
+                || Boolean.parseBoolean(configReader.getProperty("headless", "false"));
+    }
+
+    private static int getWindowWidth() {
+        return Integer.parseInt(configReader.getProperty("window.width", "1920"));
+    }
+
+    private static int getWindowHeight() {
+        return Integer.parseInt(configReader.getProperty("window.height", "1080"));
+    }
+
+    private static List<String> getBlockedUrlPatterns() {
+        return Arrays.stream(configReader.getProperty("lean.blocked.urls", "").split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .toList();
+    }
+
+    private static WebDriver createHtmlUnitDriver() {
+        return new HtmlUnitDriver(BrowserVersion.CHROME, true) {
+            @Override
+            protected WebClient modifyWebClient(WebClient client) {
+                // Log script errors instead of failing the page load, real browsers do the same
+                client.getOptions().setThrowExceptionOnScriptError(false);
+                client.getOptions().setPrintContentOnFailingStatusCode(false);
+                client.getOptions().setDownloadImages(false);
+                client.getOptions().setScreenWidth(getWindowWidth());
+                client.getOptions().setScreenHeight(getWindowHeight());
+                return client;
+            }
+        };
+    }
+
     private static ChromeOptions createChromeOptions() {
         ChromeOptions options = new ChromeOptions();
 
@@ -205,7 +353,10 @@ public class WebDriverManager {
         // Additional option for remote/Docker environment
         if (isRunningInDocker() || isRunningInCI()) {
             options.addArguments("--remote-debugging-port=9222");
+        }
+        if (isHeadless()) {
             options.addArguments("--headless");
+            options.addArguments("--window-size=" + getWindowWidth() + "," + getWindowHeight());
         }
 
         // Disable automation indicators
@@ -221,8 +372,20 @@ public class WebDriverManager {
         prefs.put("profile.default_content_setting_values.notifications", 2);
         prefs.put("profile.default_content_settings.popups", 0);
         prefs.put("profile.password_manager_enabled", false);
+        if (isLeanProfile()) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
         options.setExperimentalOption("prefs", prefs);
 
+        if (isLeanProfile()) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+
+        // BiDi connection for browser log capture
+        if (BrowserLogCapture.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+
         return options;
     }
 
@@ -233,15 +396,29 @@ public class WebDriverManager {
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
 
-        // Additional options for remote/Docker environment
-        if (isRunningInDocker() || isRunningInCI()) {
+        // Headless by config, lean profile or remote/Docker environment
+        if (isHeadless()) {
             options.addArguments("--headless");
+            options.addArguments("--width=" + getWindowWidth());
+            options.addArguments("--height=" + getWindowHeight());
         }
 
         // Firefox preferences
         options.addPreference("dom.webnotifications.enabled", false);
         options.addPreference("media.volume_scale", "0.0");
 
+        // Geckodriver has no DevTools URL blocking, so images and web fonts are turned off by preference
+        if (isLeanProfile()) {
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+
+        // BiDi connection for browser log capture
+        if (BrowserLogCapture.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+
         return options;
     }
 
@@ -253,37 +430,87 @@ public class WebDriverManager {
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--disable-gpu");
 
-        // Additional options for remote/Docker environment
-        if (isRunningInDocker() || isRunningInCI()) {
+        // Headless by config, lean profile or remote/Docker environment
+        if (isHeadless()) {
             options.addArguments("--headless");
+            options.addArguments("--window-size=" + getWindowWidth() + "," + getWindowHeight());
         }
 
         // Disable automation indicators
         options.setExperimentalOption("useAutomationExtension", false);
         options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
 
+        if (isLeanProfile()) {
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+
+        // BiDi connection for browser log capture
+        if (BrowserLogCapture.isEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+
         return options;
     }
 
+    /**
+     * Return the current thread's session to the pool so another scenario can reuse it
+     */
+    public static void releaseDriver() {
+        WebDriver current = driver.get();
+        if (current == null) {
+            // Scenario never used a browser
+            return;
+        }
+        preNavigatedDrivers.remove(current);
+        driver.remove();
+        isInitialized.remove();
+        driverPool.release(current);
+    }
+
+    // Quit the current thread's session instead of returning it to the pool
     public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+        WebDriver current = driver.get();
+        if (current != null) {
+            try {
+                current.quit();
+            } finally {
+                // A quit session fails the pool health check and is replaced on the next lease
+                releaseDriver();
+            }
         }
     }
 
+    // Quit every pooled session, called once at the end of the suite
+    public static void shutdownDriverPool() {
+        driverPool.shutdown();
+    }
+
+    // True when the current thread holds a session, without leasing one
+    public static boolean hasDriver() {
+        return driver.get() != null;
+    }
+
+    public static long getNavigationCount() {
+        return navigationCount.get();
+    }
+
     // Utility methods for navigation
     public static String getCurrentUrl() {
-        return driver != null ? driver.getCurrentUrl() : null;
+        WebDriver current = driver.get();
+        return current != null ? current.getCurrentUrl() : null;
     }
 
     public static String getPageTitle() {
-        return driver != null ? driver.getTitle() : null;
+        WebDriver current = driver.get();
+        return current != null ? current.getTitle() : null;
     }
 
     public static void refreshPage() {
-        if (driver != null) {
-            driver.navigate().refresh();
+        WebDriver current = driver.get();
+        if (current != null) {
+            current.navigate().refresh();
+            navigationCount.set(navigationCount.get() + 1);
         }
     }
 }
@@ -0,0 +1,245 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of WebDriver sessions.
+ * A session is leased to exactly one thread at a time and returned with {@link #release(WebDriver)}.
+ * Dead sessions are detected with a cheap health check and replaced transparently.
+ */
+public class WebDriverPool {
+    // Web storage is per origin, so it is cleared while the released session is still on the application page
+    static final String CLEAR_STORAGE_SCRIPT = "window.localStorage.clear(); window.sessionStorage.clear();";
+    private static final String BLANK_URL = "about:blank";
+    // Waiters re-check for free capacity this often, a failed creation or a discard frees a slot without an idle session
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxSize;
+    private final Duration acquireTimeout;
+
+    // Limits the number of concurrent leases
+    private final Semaphore leases;
+    // Limits the number of live sessions (leased + idle + being created)
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> allDrivers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    public WebDriverPool(Supplier<WebDriver> driverFactory, int maxSize, Duration acquireTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1, got: " + maxSize);
+        }
+        this.driverFactory = driverFactory;
+        this.maxSize = maxSize;
+        this.acquireTimeout = acquireTimeout;
+        this.leases = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Lease a healthy session, creating one if the pool has not reached its max size.
+     * Blocks up to the configured acquire timeout when all sessions are leased.
+     */
+    public WebDriver acquire() {
+        try {
+            if (!leases.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out after " + acquireTimeout.toSeconds()
+                        + "s waiting for a WebDriver session (pool size: " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a WebDriver session", e);
+        }
+
+        try {
+            return takeHealthyDriver();
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    private WebDriver takeHealthyDriver() {
+        long deadline = System.nanoTime() + acquireTimeout.toNanos();
+        while (true) {
+            WebDriver driver = idle.pollFirst();
+            if (driver != null) {
+                if (isHealthy(driver)) {
+                    return driver;
+                }
+                System.out.println("Discarding dead WebDriver session from pool");
+                discard(driver);
+                continue;
+            }
+
+            if (reserveSession()) {
+                return createSession();
+            }
+
+            // Pool is full but we hold a lease, so a session is on its way back to the idle queue
+            // or a slot frees up when a pre-warm fails or a session is discarded
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Timed out waiting for an idle WebDriver session");
+                }
+                driver = idle.pollFirst(Math.min(remaining, WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a WebDriver session", e);
+            }
+            if (driver != null) {
+                idle.offerFirst(driver);
+            }
+        }
+    }
+
+    /**
+     * Start creating up to the given number of sessions on background threads and park them as idle.
+     * Leases that arrive while a session is still starting simply wait for it.
+     *
+     * @param initializer optional warm-up applied to each new session before it becomes available, may be null
+     */
+    public void prewarm(int count, Consumer<WebDriver> initializer) {
+        for (int i = 0; i < count; i++) {
+            if (!reserveSession()) {
+                return;
+            }
+            Thread.ofPlatform().daemon().name("driver-prewarm-" + i).start(() -> {
+                WebDriver driver;
+                try {
+                    driver = createSession();
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to pre-warm WebDriver session: " + e.getMessage());
+                    return;
+                }
+                if (initializer != null) {
+                    try {
+                        initializer.accept(driver);
+                    } catch (RuntimeException e) {
+                        System.err.println("Failed to initialize pre-warmed WebDriver session: " + e.getMessage());
+                    }
+                }
+                if (closed) {
+                    discard(driver);
+                } else {
+                    idle.offerLast(driver);
+                }
+            });
+        }
+    }
+
+    /**
+     * Return a leased session to the pool. Unhealthy sessions are quit instead of being reused.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            if (resetForReuse(driver)) {
+                idle.offerFirst(driver);
+            } else {
+                System.out.println("Released WebDriver session is no longer healthy, discarding it");
+                discard(driver);
+            }
+        } finally {
+            leases.release();
+        }
+    }
+
+    /**
+     * Quit every session owned by the pool. Intended for suite teardown.
+     */
+    public void shutdown() {
+        closed = true;
+        idle.clear();
+        for (WebDriver driver : allDrivers) {
+            quitQuietly(driver);
+        }
+        allDrivers.clear();
+        sessions.set(0);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getSessionCount() {
+        return sessions.get();
+    }
+
+    private boolean reserveSession() {
+        while (true) {
+            int current = sessions.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (sessions.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private WebDriver createSession() {
+        try {
+            WebDriver driver = driverFactory.get();
+            allDrivers.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            sessions.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        if (allDrivers.remove(driver)) {
+            sessions.decrementAndGet();
+        }
+        quitQuietly(driver);
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            // Cheapest round trip that fails when the browser or grid session is gone
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Nothing of the previous scenario may leak into the next one: cookies, web storage (e.g. the cart) and the open page
+    private static boolean resetForReuse(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            if (driver.getCurrentUrl().startsWith("http")) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            driver.get(BLANK_URL);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Failed to quit WebDriver session: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.saucedemo.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebDriverPool leasing, health checks and session reset, on FakeSauceDemo sessions
+ */
+public class WebDriverPoolTest {
+    private static final String APP_URL = "https://www.saucedemo.com/";
+
+    private final AtomicInteger created = new AtomicInteger();
+    private WebDriverPool pool;
+
+    @BeforeMethod
+    public void resetCounter() {
+        created.set(0);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void acquireTimesOutWhenEverySessionIsLeased() {
+        pool = pool(1, Duration.ofMillis(300));
+        pool.acquire();
+
+        long start = System.nanoTime();
+        try {
+            pool.acquire();
+            Assert.fail("second lease granted beyond the pool size");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("Timed out"), e.getMessage());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assert.assertTrue(elapsedMillis >= 250 && elapsedMillis < 2_000, "lease did not time out on time: " + elapsedMillis + " ms");
+        Assert.assertEquals(created.get(), 1);
+    }
+
+    @Test
+    public void releasedSessionIsReusedInsteadOfCreatingAnother() {
+        pool = pool(2, Duration.ofSeconds(5));
+
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        WebDriver second = pool.acquire();
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(created.get(), 1);
+    }
+
+    @Test
+    public void deadIdleSessionIsReplaced() {
+        pool = pool(1, Duration.ofSeconds(5));
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        // The browser or grid session dies while the session sits idle in the pool
+        first.quit();
+
+        WebDriver replacement = pool.acquire();
+
+        Assert.assertNotSame(replacement, first);
+        Assert.assertEquals(created.get(), 2);
+        Assert.assertEquals(pool.getSessionCount(), 1);
+    }
+
+    @Test
+    public void sessionQuitDuringTheLeaseIsDiscardedOnRelease() {
+        pool = pool(1, Duration.ofSeconds(5));
+        WebDriver first = pool.acquire();
+        first.quit();
+
+        pool.release(first);
+        WebDriver replacement = pool.acquire();
+
+        Assert.assertNotSame(replacement, first);
+        Assert.assertEquals(pool.getSessionCount(), 1);
+    }
+
+    @Test
+    public void releaseClearsCookiesStorageAndThePage() {
+        pool = pool(1, Duration.ofSeconds(5));
+        FakeWebDriver driver = (FakeWebDriver) pool.acquire();
+        driver.get(APP_URL);
+        driver.manage().addCookie(new Cookie("session-username", "standard_user", "/"));
+        driver.getLocalStorage().put("cart-contents", "[4]");
+
+        pool.release(driver);
+        WebDriver reused = pool.acquire();
+
+        Assert.assertSame(reused, driver);
+        Assert.assertTrue(reused.manage().getCookies().isEmpty(), "cookies leaked: " + reused.manage().getCookies());
+        Assert.assertTrue(driver.getLocalStorage().isEmpty(), "localStorage leaked: " + driver.getLocalStorage());
+        Assert.assertEquals(reused.getCurrentUrl(), "about:blank");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void poolNeedsRoomForOneSession() {
+        pool(0, Duration.ofSeconds(5));
+    }
+
+    private WebDriverPool pool(int maxSize, Duration acquireTimeout) {
+        return new WebDriverPool(() -> {
+            created.incrementAndGet();
+            return FakeSauceDemo.createDriver();
+        }, maxSize, acquireTimeout);
+    }
+}
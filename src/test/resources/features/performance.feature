@@ -0,0 +1,23 @@
+@performance @regression @htmlunit-incompatible
+Feature: Page Performance Budgets
+  As a product owner
+  I want page loads to stay within their budgets
+  So that slow releases are caught like broken ones
+
+  @positive
+  Scenario: Products page loads within budget after login
+    Given I am on the login page
+    When I enter username "standard_user" and password "secret_sauce"
+    And I click on login button
+    Then I should be redirected to products page
+    And the products page should load within 3000 ms
+
+  # performance_glitch_user delays the login transition by about 3 s (5 s on saucedemo.com),
+  # so the budget above must be breached for this user; if it is not, the budget step cannot catch slowness
+  @negative
+  Scenario: Products page breaches its budget for the performance glitch user
+    Given I am on the login page
+    When I enter username "performance_glitch_user" and password "secret_sauce"
+    And I click on login button
+    Then I should be redirected to products page
+    And the products page should exceed a 2500 ms budget
@@ -0,0 +1,13 @@
+@products @regression
+Feature: Products Page
+  As a logged in user
+  I want to see the product inventory
+  So that I can choose products to buy
+
+  Background:
+    Given I am logged in as "standard_user"
+
+  @smoke @positive
+  Scenario: Products page is shown for a logged in user
+    Then I should be redirected to products page
+    And I should see "Products" as page title
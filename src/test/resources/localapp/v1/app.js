@@ -0,0 +1,76 @@
+/*
+ * Offline stand-in for https://www.saucedemo.com/ used by the embedded LocalAppServer.
+ * Element ids, classes and data-test attributes mirror the real app for the pages the suite covers.
+ */
+var SwagLabs = (function () {
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user',
+        'performance_glitch_user', 'error_user', 'visual_user'];
+    var SESSION_COOKIE = 'session-username';
+
+    var PRODUCTS = [
+        {id: 4, name: 'Sauce Labs Backpack', price: '$29.99'},
+        {id: 0, name: 'Sauce Labs Bike Light', price: '$9.99'},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: '$15.99'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: '$49.99'},
+        {id: 2, name: 'Sauce Labs Onesie', price: '$7.99'},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: '$15.99'}
+    ];
+
+    function sessionUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function showError(message) {
+        var container = document.querySelector('.error-message-container');
+        container.className = 'error-message-container error';
+        container.innerHTML = '<h3 data-test="error">' + message + '</h3>';
+    }
+
+    function busyWait(millis) {
+        var end = Date.now() + millis;
+        while (Date.now() < end) { /* simulate a slow backend like performance_glitch_user */ }
+    }
+
+    function initLoginPage() {
+        document.getElementById('login-form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var username = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+
+            if (!username) {
+                showError('Epic sadface: Username is required');
+            } else if (!password) {
+                showError('Epic sadface: Password is required');
+            } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                showError('Epic sadface: Username and password do not match any user in this service');
+            } else if (username === 'locked_out_user') {
+                showError('Epic sadface: Sorry, this user has been locked out.');
+            } else {
+                document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; path=/';
+                if (username === 'performance_glitch_user') {
+                    busyWait(3000);
+                }
+                window.location.href = 'inventory.html';
+            }
+        });
+    }
+
+    function initInventoryPage() {
+        if (!sessionUser()) {
+            window.location.href = './';
+            return;
+        }
+        var list = document.querySelector('.inventory_list');
+        list.innerHTML = PRODUCTS.map(function (product) {
+            return '<div class="inventory_item" data-test="inventory-item">' +
+                '<div class="inventory_item_name" data-test="inventory-item-name" id="item_' + product.id + '_title_link">' +
+                product.name + '</div>' +
+                '<div class="inventory_item_price" data-test="inventory-item-price">' + product.price + '</div>' +
+                '</div>';
+        }).join('');
+    }
+
+    return {initLoginPage: initLoginPage, initInventoryPage: initInventoryPage};
+})();